@@ -0,0 +1,20 @@
+package com.bac.benchmark;
+
+import com.bac.network.GameMessage;
+
+/**
+ * Chemin utilisé en production : TypeAdapter écrit à la main (GameMessage.toJson / fromJson),
+ * caches de trames compris
+ */
+public class AdapterCodec implements MessageCodec<String> {
+
+    @Override
+    public String encode(GameMessage msg) {
+        return msg.toJson();
+    }
+
+    @Override
+    public GameMessage decode(String frame, Class<? extends GameMessage> type) {
+        return GameMessage.fromJson(frame);
+    }
+}
@@ -0,0 +1,55 @@
+package com.bac.benchmark;
+
+import com.bac.network.GameMessage;
+import com.bac.network.GameMessage.MessageType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encodage / décodage de chaque type de message, avec 8 ou 20 catégories.
+ * À lancer avec -prof gc pour mesurer les allocations par opération.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GameMessageBenchmark {
+
+    @Param({"adapter", "reflection"})
+    public String codec;
+
+    @Param({
+        "JOIN_GAME", "LEAVE_GAME", "SUBMIT_ANSWERS", "PLAYER_READY", "CHAT_MESSAGE", "ANSWER_DRAFT",
+        "GAME_CREATED", "PLAYER_JOINED", "PLAYER_LEFT", "GAME_START", "GAME_END", "TIMER_UPDATE",
+        "RESULTS", "ERROR", "PLAYER_LIST", "PLAYER_FINISHED", "PING", "PONG"
+    })
+    public String type;
+
+    @Param({"8", "20"})
+    public int categories;
+
+    private MessageCodec<Object> impl;
+    private GameMessage message;
+    private Object frame;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        impl = (MessageCodec<Object>) MessageCodec.byName(codec);
+        message = Payloads.build(MessageType.valueOf(type), categories, 4);
+        frame = impl.encode(message);
+    }
+
+    @Benchmark
+    public Object encode() {
+        return impl.encode(message);
+    }
+
+    @Benchmark
+    public GameMessage decode() {
+        return impl.decode(frame, message.getClass());
+    }
+}
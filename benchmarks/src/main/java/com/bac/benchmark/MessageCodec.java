@@ -0,0 +1,28 @@
+package com.bac.benchmark;
+
+import com.bac.network.GameMessage;
+
+/**
+ * Codec de messages comparé par les benchmarks.
+ * F est le type de trame produit (String pour JSON, byte[] pour un futur codec binaire).
+ */
+public interface MessageCodec<F> {
+
+    F encode(GameMessage msg);
+
+    /**
+     * type : classe du message attendu, pour les codecs qui ne l'écrivent pas dans la trame
+     */
+    GameMessage decode(F frame, Class<? extends GameMessage> type);
+
+    /**
+     * Codec correspondant au paramètre JMH "codec"
+     */
+    static MessageCodec<?> byName(String name) {
+        return switch (name) {
+            case "adapter" -> new AdapterCodec();
+            case "reflection" -> new ReflectionCodec();
+            default -> throw new IllegalArgumentException("Codec inconnu: " + name);
+        };
+    }
+}
@@ -0,0 +1,83 @@
+package com.bac.benchmark;
+
+import com.bac.network.GameMessage;
+import com.bac.network.GameMessage.MessageType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Messages réalistes pour les benchmarks : catégories et joueurs d'une vraie salle
+ */
+final class Payloads {
+
+    static final String SESSION_CODE = "K7PX2M";
+    static final char LETTER = 'M';
+    static final long CLIENT_TIME = 1_760_000_000_000L;
+
+    private static final String[] CATEGORIES = {
+        "Prénom", "Animal", "Pays", "Ville", "Fruit", "Métier", "Objet", "Plante",
+        "Couleur", "Sport", "Marque", "Légume", "Instrument", "Film", "Célébrité",
+        "Partie du corps", "Vêtement", "Moyen de transport", "Boisson", "Personnage historique"
+    };
+
+    private static final String[] WORDS = {
+        "Mathilde", "Marmotte", "Maroc", "Marseille", "Mangue", "Menuisier", "Marteau", "Menthe",
+        "Marron", "Marathon", "Michelin", "Maïs", "Mandoline", "Matrix", "Madonna",
+        "Main", "Manteau", "Métro", "Mojito", "Molière"
+    };
+
+    private Payloads() {}
+
+    static List<String> categories(int count) {
+        return List.of(Arrays.copyOf(CATEGORIES, count));
+    }
+
+    static List<String> answers(int count) {
+        return List.of(Arrays.copyOf(WORDS, count));
+    }
+
+    static List<String> players(int count) {
+        List<String> players = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            players.add(String.format("joueur%03d", i + 1));
+        }
+        return players;
+    }
+
+    static int[] scores(int players, int categories) {
+        int[] scores = new int[players];
+        for (int i = 0; i < players; i++) {
+            scores[i] = (i * 37 % (categories + 1)) * 10;
+        }
+        return scores;
+    }
+
+    /**
+     * Message du type demandé pour une salle de la taille donnée
+     */
+    static GameMessage build(MessageType type, int categories, int players) {
+        return switch (type) {
+            case JOIN_GAME -> new GameMessage.JoinGame("joueur001", SESSION_CODE, "deflate");
+            case LEAVE_GAME -> new GameMessage.LeaveGame("joueur001");
+            case SUBMIT_ANSWERS -> new GameMessage.SubmitAnswers(answers(categories));
+            case PLAYER_READY -> new GameMessage.PlayerReady("joueur001", SESSION_CODE);
+            case CHAT_MESSAGE -> new GameMessage.ChatMessage("joueur001", "Bonne chance à tous !");
+            case ANSWER_DRAFT -> new GameMessage.AnswerDraft(categories - 1, WORDS[categories - 1]);
+            case GAME_CREATED -> new GameMessage.GameCreated(SESSION_CODE, LETTER, categories(categories), "deflate");
+            case PLAYER_JOINED -> new GameMessage.PlayerJoined(
+                SESSION_CODE, LETTER, categories(categories), "joueur002", "deflate");
+            case PLAYER_LEFT -> new GameMessage.PlayerLeft("joueur002");
+            case GAME_START -> new GameMessage.GameStart(SESSION_CODE, LETTER, categories(categories), 120);
+            case GAME_END -> GameMessage.GameEnd.INSTANCE;
+            case TIMER_UPDATE -> new GameMessage.TimerUpdate(87);
+            case RESULTS -> new GameMessage.Results(scores(players, categories), players / 2);
+            case ERROR -> new GameMessage.ErrorMessage("Salle non trouvée: " + SESSION_CODE);
+            case PLAYER_LIST -> new GameMessage.PlayerList(players(players));
+            case PLAYER_FINISHED -> new GameMessage.PlayerFinished(players - 1);
+            case PING -> new GameMessage.Ping(CLIENT_TIME, 42);
+            case PONG -> new GameMessage.Pong(CLIENT_TIME, CLIENT_TIME + 21);
+        };
+    }
+}
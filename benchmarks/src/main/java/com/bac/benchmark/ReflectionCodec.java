@@ -0,0 +1,22 @@
+package com.bac.benchmark;
+
+import com.bac.network.GameMessage;
+import com.google.gson.Gson;
+
+/**
+ * Référence : sérialisation Gson par réflexion des mêmes records
+ */
+public class ReflectionCodec implements MessageCodec<String> {
+
+    private final Gson gson = new Gson();
+
+    @Override
+    public String encode(GameMessage msg) {
+        return gson.toJson(msg);
+    }
+
+    @Override
+    public GameMessage decode(String frame, Class<? extends GameMessage> type) {
+        return gson.fromJson(frame, type);
+    }
+}
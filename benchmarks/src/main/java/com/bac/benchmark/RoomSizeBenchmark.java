@@ -0,0 +1,50 @@
+package com.bac.benchmark;
+
+import com.bac.network.GameMessage;
+import com.bac.network.GameMessage.MessageType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Messages dont la taille dépend du nombre de joueurs (PLAYER_LIST, RESULTS), de 2 à 100 joueurs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RoomSizeBenchmark {
+
+    @Param({"adapter", "reflection"})
+    public String codec;
+
+    @Param({"PLAYER_LIST", "RESULTS"})
+    public String type;
+
+    @Param({"2", "10", "50", "100"})
+    public int players;
+
+    private MessageCodec<Object> impl;
+    private GameMessage message;
+    private Object frame;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        impl = (MessageCodec<Object>) MessageCodec.byName(codec);
+        message = Payloads.build(MessageType.valueOf(type), 8, players);
+        frame = impl.encode(message);
+    }
+
+    @Benchmark
+    public Object encode() {
+        return impl.encode(message);
+    }
+
+    @Benchmark
+    public GameMessage decode() {
+        return impl.decode(frame, message.getClass());
+    }
+}
@@ -0,0 +1,43 @@
+package com.bac.benchmark;
+
+import com.bac.service.WordNormalizer;
+import org.openjdk.jmh.annotations.*;
+
+import java.text.Normalizer;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Clé canonique d'un mot (WordNormalizer) face au repli direct par java.text.Normalizer
+ * et expression régulière, pour des saisies déjà canoniques, accentuées, composées ou avec ligature.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WordNormalizerBenchmark {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}");
+    private static final Pattern SEPARATORS = Pattern.compile("[\\s\\-_]+");
+
+    @Param({"elephant", "Éléphants", "Saint-Étienne-du-Rouvray", "Cœurs de bœuf"})
+    public String word;
+
+    @Benchmark
+    public String key() {
+        return WordNormalizer.key(word, true);
+    }
+
+    @Benchmark
+    public String fold() {
+        return WordNormalizer.fold(word);
+    }
+
+    @Benchmark
+    public String jdkNormalizer() {
+        String decomposed = Normalizer.normalize(word.trim().toLowerCase(), Normalizer.Form.NFKD);
+        return SEPARATORS.matcher(MARKS.matcher(decomposed).replaceAll("")).replaceAll(" ");
+    }
+}
@@ -7,7 +7,9 @@ import com.bac.network.GameClient;
 import com.bac.network.GameMessage;
 import com.bac.service.GameService;
 import com.bac.service.ValidationService;
+import com.bac.service.WordNormalizer;
 import javafx.animation.KeyFrame;
+import javafx.animation.PauseTransition;
 import javafx.animation.Timeline;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
@@ -22,6 +24,9 @@ import javafx.util.Duration;
 
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Contrôleur pour l'écran de jeu
@@ -35,14 +40,22 @@ public class GameController implements Initializable {
     @FXML private VBox categoriesContainer;
     @FXML private VBox playersPane;
     @FXML private VBox playersListContainer;
+    @FXML private Label latencyLabel;
     @FXML private Button submitButton;
     @FXML private Button quitButton;
     
+    // Délai sans frappe avant l'envoi d'un brouillon de réponse et sa validation spéculative
+    private static final Duration DRAFT_DEBOUNCE = Duration.millis(600);
+    // Affichage des verdicts avant le passage aux résultats (solo)
+    private static final Duration VERDICTS_DISPLAY = Duration.millis(500);
+    
     private final GameService gameService = GameService.getInstance();
     private final NavigationController navigation = NavigationController.getInstance();
     
     private Map<String, TextField> answerFields = new HashMap<>();
     private Map<String, Label> validationLabels = new HashMap<>();
+    // Validation en arrière-plan du dernier mot saisi dans chaque catégorie (thread JavaFX uniquement)
+    private Map<String, Speculation> speculations = new HashMap<>();
     private Timeline timer;
     private int timeRemaining;
     private long startTime;
@@ -50,6 +63,11 @@ public class GameController implements Initializable {
     private boolean isMultiplayer = false;
     private GameClient gameClient;
     
+    /**
+     * Mot en cours de saisie et sa validation spéculative
+     */
+    private record Speculation(String word, CompletableFuture<ValidationService.ValidationResult> verdict) {}
+    
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         // Initialisation de base
@@ -94,15 +112,15 @@ public class GameController implements Initializable {
         if (gameClient == null) return;
         
         gameClient.setOnTimerUpdate(msg -> {
-            updateTimer(msg.getTimeRemaining());
+            updateTimer(msg.timeRemaining());
         });
         
         gameClient.setOnPlayerFinished(msg -> {
-            addPlayerFinishedNotification(msg.getSenderPseudo());
+            addPlayerFinishedNotification(gameClient.resolvePlayer(msg));
         });
         
         gameClient.setOnPlayerList(msg -> {
-            updatePlayersList(msg.getPlayers());
+            updatePlayersList(msg.names());
         });
         
         gameClient.setOnResults(msg -> {
@@ -110,7 +128,7 @@ public class GameController implements Initializable {
         });
         
         gameClient.setOnError(msg -> {
-            showError(msg.getMessage());
+            showError(msg.message());
         });
     }
     
@@ -128,6 +146,7 @@ public class GameController implements Initializable {
         categoriesContainer.getChildren().clear();
         answerFields.clear();
         validationLabels.clear();
+        speculations.clear();
         
         for (String categoryName : categories) {
             HBox row = createCategoryRow(categoryName, letter);
@@ -152,6 +171,15 @@ public class GameController implements Initializable {
         field.setPrefWidth(250);
         HBox.setHgrow(field, Priority.ALWAYS);
         
+        // Quand la saisie marque une pause : brouillon au serveur et validation en arrière-plan
+        PauseTransition draftDebounce = new PauseTransition(DRAFT_DEBOUNCE);
+        draftDebounce.setOnFinished(e -> {
+            if (field.isDisabled()) return;
+            sendAnswerDraft(categoryName, field.getText());
+            speculate(categoryName, field.getText(), letter);
+        });
+        field.textProperty().addListener((obs, oldVal, newVal) -> draftDebounce.playFromStart());
+        
         // Indicateur de validation (masqué initialement, visible seulement après validation)
         Label validationLabel = new Label("");
         validationLabel.setPrefWidth(30);
@@ -166,10 +194,37 @@ public class GameController implements Initializable {
         return row;
     }
     
+    /**
+     * Envoie le brouillon d'une réponse pour pré-validation (multijoueur uniquement)
+     */
+    private void sendAnswerDraft(String categoryName, String text) {
+        if (!isMultiplayer || gameClient == null || text == null || text.isBlank()) return;
+        gameClient.sendAnswerDraft(categoryName, text.trim());
+    }
+    
+    /**
+     * Valide en arrière-plan le mot en cours de saisie, sans afficher le verdict avant la soumission.
+     * La validation d'un mot remplacé est annulée si elle n'a pas commencé (sinon son verdict
+     * reste dans le cache de validation).
+     */
+    private void speculate(String categoryName, String text, Character letter) {
+        String word = text == null ? "" : text.trim();
+        Speculation current = speculations.get(categoryName);
+        if (current != null) {
+            if (WordNormalizer.sameWord(current.word(), word)) return;
+            current.verdict().cancel(false);
+            speculations.remove(categoryName);
+        }
+        if (word.isEmpty()) return;
+        speculations.put(categoryName, new Speculation(word,
+            ValidationService.getInstance().validateDraftAsync(word, categoryName, letter)));
+    }
+    
     private void startTimer() {
         timer = new Timeline(new KeyFrame(Duration.seconds(1), e -> {
             timeRemaining--;
             updateTimerDisplay();
+            updateLatencyDisplay();
             
             if (timeRemaining <= 0) {
                 timer.stop();
@@ -200,6 +255,29 @@ public class GameController implements Initializable {
         }
     }
     
+    /**
+     * Indicateur de latence avec le serveur (multijoueur)
+     */
+    private void updateLatencyDisplay() {
+        if (!isMultiplayer || gameClient == null) return;
+        
+        int rtt = gameClient.getSmoothedRttMillis();
+        if (rtt < 0) {
+            latencyLabel.setText("📶 -- ms");
+            latencyLabel.setStyle("-fx-font-size: 12px;");
+            return;
+        }
+        
+        latencyLabel.setText("📶 " + rtt + " ms");
+        if (rtt < 100) {
+            latencyLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: #27ae60;");
+        } else if (rtt < 250) {
+            latencyLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: #f39c12;");
+        } else {
+            latencyLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: #e74c3c;");
+        }
+    }
+    
     private void handleTimeUp() {
         submitButton.setDisable(true);
         showInfo("Temps écoulé !");
@@ -234,64 +312,63 @@ public class GameController implements Initializable {
         Character letter = gameService.getCurrentSession() != null ? 
                           gameService.getCurrentSession().getGameLetter() : null;
         
-        // Valider et afficher les résultats dans un thread séparé
-        new Thread(() -> {
-            // Valider chaque mot et mettre à jour l'affichage
-            for (Map.Entry<String, String> entry : answers.entrySet()) {
-                String category = entry.getKey();
-                String word = entry.getValue();
-                TextField field = answerFields.get(category);
-                Label validationLabel = validationLabels.get(category);
-                
-                if (word.isEmpty()) {
-                    Platform.runLater(() -> {
-                        validationLabel.setText("➖");
-                        validationLabel.setVisible(true);
-                        field.setStyle("-fx-border-color: #bdc3c7;");
-                    });
-                    continue;
+        // En multijoueur, le serveur valide lui-même : envoyer tout de suite pour tenir l'échéance,
+        // la validation locale ne sert qu'à l'affichage
+        if (isMultiplayer && gameClient != null) {
+            gameClient.submitAnswers(answers).whenComplete((ack, error) -> {
+                if (error != null) {
+                    String reason = error instanceof TimeoutException
+                        ? "le serveur ne répond pas" : error.getMessage();
+                    showError("Réponses non reçues par le serveur : " + reason);
                 }
-                
-                // Vérifier la première lettre
-                if (letter != null && !word.toUpperCase().startsWith(String.valueOf(letter))) {
-                    Platform.runLater(() -> {
-                        validationLabel.setText("❌");
-                        validationLabel.setVisible(true);
-                        field.setStyle("-fx-border-color: #e74c3c; -fx-background-color: #ffebee;");
-                    });
-                    continue;
-                }
-                
-                // Valider via API
-                ValidationService.ValidationResult result = 
-                    ValidationService.getInstance().validateWord(word, category, letter);
-                
-                Platform.runLater(() -> {
-                    if (result.isValid()) {
-                        validationLabel.setText("✅");
-                        field.setStyle("-fx-border-color: #27ae60; -fx-background-color: #e8f5e9;");
-                    } else {
-                        validationLabel.setText("❌");
-                        field.setStyle("-fx-border-color: #e74c3c; -fx-background-color: #ffebee;");
-                    }
-                    validationLabel.setVisible(true);
-                });
-            }
-            
-            // Attendre un peu que l'utilisateur voie les résultats de validation
-            try {
-                Thread.sleep(2000);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
+            });
+        }
+        
+        // Vérifications locales immédiates ; les mots validés pendant la saisie sont repris,
+        // les autres sont validés en parallèle
+        ValidationService validationService = ValidationService.getInstance();
+        Map<String, ValidationService.ValidationResult> verdicts = new ConcurrentHashMap<>();
+        List<CompletableFuture<?>> pending = new ArrayList<>();
+        Map<String, String> toValidate = new HashMap<>();
+        for (Map.Entry<String, String> entry : answers.entrySet()) {
+            String category = entry.getKey();
+            String word = entry.getValue();
+            Speculation speculation = speculations.get(category);
+            if (word.isEmpty()) {
+                showVerdict(category, null);
+            } else if (letter != null && !WordNormalizer.startsWith(word, letter)) {
+                showVerdict(category, false);
+            } else if (speculation != null && WordNormalizer.sameWord(speculation.word(), word)
+                       && !speculation.verdict().isCancelled()) {
+                // Brouillon non vérifié (fournisseur indisponible, débit épuisé) : revalidé
+                pending.add(speculation.verdict()
+                    .exceptionally(e -> null)
+                    .thenCompose(result -> result != null && result.isVerified()
+                        ? CompletableFuture.completedFuture(result)
+                        : validationService.validateWordAsync(word, category, letter))
+                    .thenAccept(result -> {
+                        verdicts.put(category, result);
+                        Platform.runLater(() -> showVerdict(category, result.isValid()));
+                    }));
+            } else {
+                toValidate.put(category, word);
             }
-            
-            Platform.runLater(() -> {
-                if (isMultiplayer && gameClient != null) {
-                    // Envoyer les réponses au serveur
-                    gameClient.submitAnswers(answers);
-                } else {
-                    // Mode solo - traitement local
-                    GameResult result = gameService.submitAnswers(answers, completionTime);
+        }
+        pending.add(validationService
+            .validateAll(toValidate, letter,
+                (category, result) -> Platform.runLater(() -> showVerdict(category, result.isValid())))
+            .thenAccept(verdicts::putAll));
+        
+        CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0]))
+            .whenComplete((done, error) -> Platform.runLater(() -> {
+                // Les résultats multijoueur arrivent du serveur (RESULTS)
+                if (isMultiplayer && gameClient != null) return;
+                
+                // Laisser juste le temps de voir les verdicts
+                PauseTransition pause = new PauseTransition(VERDICTS_DISPLAY);
+                pause.setOnFinished(e -> {
+                    // Mode solo - traitement local, sans revalider les mots déjà jugés
+                    GameResult result = gameService.submitAnswers(answers, completionTime, verdicts);
                     gameService.endGame();
                     
                     // Afficher les résultats
@@ -299,15 +376,35 @@ public class GameController implements Initializable {
                     if (controller != null) {
                         controller.showSoloResults(result, gameService.getCurrentSession().getGameLetter());
                     }
-                }
-            });
-        }).start();
+                });
+                pause.play();
+            }));
+    }
+    
+    /**
+     * Affiche le verdict d'une réponse (null : réponse vide)
+     */
+    private void showVerdict(String category, Boolean valid) {
+        TextField field = answerFields.get(category);
+        Label validationLabel = validationLabels.get(category);
+        if (valid == null) {
+            validationLabel.setText("➖");
+            field.setStyle("-fx-border-color: #bdc3c7;");
+        } else if (valid) {
+            validationLabel.setText("✅");
+            field.setStyle("-fx-border-color: #27ae60; -fx-background-color: #e8f5e9;");
+        } else {
+            validationLabel.setText("❌");
+            field.setStyle("-fx-border-color: #e74c3c; -fx-background-color: #ffebee;");
+        }
+        validationLabel.setVisible(true);
     }
     
-    private void showMultiplayerResults(GameMessage msg) {
+    private void showMultiplayerResults(GameMessage.Results msg) {
         ResultsController controller = navigation.goToResults();
         if (controller != null) {
-            controller.showMultiplayerResults(msg.getScores(), msg.getMessage(), 
+            controller.showMultiplayerResults(gameClient.resolveScores(msg), 
+                gameClient.resolveWinner(msg), 
                 gameClient.getGameLetter());
         }
         
@@ -327,6 +424,8 @@ public class GameController implements Initializable {
     }
     
     private void addPlayerFinishedNotification(String playerName) {
+        if (playerName == null) return;
+        
         // Mettre à jour l'UI pour montrer qu'un joueur a terminé
         for (javafx.scene.Node node : playersListContainer.getChildren()) {
             if (node instanceof Label label) {
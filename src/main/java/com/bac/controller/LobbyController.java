@@ -16,6 +16,8 @@ import javafx.scene.layout.VBox;
 import java.net.URL;
 import java.util.List;
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Contrôleur pour la salle d'attente multijoueur
@@ -46,9 +48,9 @@ public class LobbyController implements Initializable {
     }
     
     /**
-     * Initialise le lobby en tant qu'hôte
+     * Initialise le lobby en tant qu'hôte, à partir de la réponse du serveur
      */
-    public void initAsHost(GameClient client) {
+    public void initAsHost(GameClient client, GameMessage.GameCreated created) {
         this.gameClient = client;
         this.isHost = true;
         
@@ -57,19 +59,22 @@ public class LobbyController implements Initializable {
         startButton.setManaged(true);
         
         setupClientCallbacks();
+        handleGameCreated(created);
     }
     
     /**
-     * Initialise le lobby en tant qu'invité
+     * Initialise le lobby en tant qu'invité, à partir de la réponse du serveur
      */
-    public void initAsGuest(GameClient client, String sessionCode) {
+    public void initAsGuest(GameClient client, GameMessage.PlayerJoined joined) {
         this.gameClient = client;
         this.isHost = false;
         
         statusLabel.setText("En attente du démarrage...");
-        sessionCodeLabel.setText(sessionCode);
+        sessionCodeLabel.setText(joined.sessionCode());
         
         setupClientCallbacks();
+        handlePlayerJoined(joined);
+        updatePlayersList(client.getPlayers());
     }
     
     private void setupClientCallbacks() {
@@ -82,13 +87,13 @@ public class LobbyController implements Initializable {
         gameClient.setOnDisconnect(this::handleDisconnect);
     }
     
-    private void handleGameCreated(GameMessage msg) {
+    private void handleGameCreated(GameMessage.GameCreated msg) {
         Platform.runLater(() -> {
-            sessionCodeLabel.setText(msg.getSessionCode());
-            letterLabel.setText(String.valueOf(msg.getGameLetter()));
+            sessionCodeLabel.setText(msg.sessionCode());
+            letterLabel.setText(String.valueOf(msg.gameLetter()));
             
-            if (msg.getCategories() != null) {
-                categoriesCountLabel.setText(String.valueOf(msg.getCategories().size()));
+            if (msg.categories() != null) {
+                categoriesCountLabel.setText(String.valueOf(msg.categories().size()));
             }
             
             int timeLimit = configService.getGameTimerSeconds();
@@ -98,13 +103,13 @@ public class LobbyController implements Initializable {
         });
     }
     
-    private void handlePlayerJoined(GameMessage msg) {
+    private void handlePlayerJoined(GameMessage.PlayerJoined msg) {
         Platform.runLater(() -> {
             if (!isHost) {
                 // C'est nous qui avons rejoint
-                letterLabel.setText(String.valueOf(msg.getGameLetter()));
-                if (msg.getCategories() != null) {
-                    categoriesCountLabel.setText(String.valueOf(msg.getCategories().size()));
+                letterLabel.setText(String.valueOf(msg.gameLetter()));
+                if (msg.categories() != null) {
+                    categoriesCountLabel.setText(String.valueOf(msg.categories().size()));
                 }
                 int timeLimit = configService.getGameTimerSeconds();
                 timeLimitLabel.setText(String.format("%d:%02d", timeLimit / 60, timeLimit % 60));
@@ -113,36 +118,36 @@ public class LobbyController implements Initializable {
         });
     }
     
-    private void handlePlayerLeft(GameMessage msg) {
+    private void handlePlayerLeft(GameMessage.PlayerLeft msg) {
         Platform.runLater(() -> {
             // La liste sera mise à jour via PLAYER_LIST
         });
     }
     
-    private void handlePlayerList(GameMessage msg) {
+    private void handlePlayerList(GameMessage.PlayerList msg) {
         Platform.runLater(() -> {
-            updatePlayersList(msg.getPlayers());
+            updatePlayersList(msg.names());
         });
     }
     
-    private void handleGameStart(GameMessage msg) {
+    private void handleGameStart(GameMessage.GameStart msg) {
         Platform.runLater(() -> {
             // Naviguer vers l'écran de jeu
             GameController controller = navigation.goToGame();
             if (controller != null) {
                 controller.initMultiplayerMode(
                     gameClient,
-                    msg.getGameLetter(),
-                    msg.getCategories(),
-                    msg.getTimeRemaining()
+                    msg.gameLetter(),
+                    msg.categories(),
+                    msg.timeRemaining()
                 );
             }
         });
     }
     
-    private void handleError(GameMessage msg) {
+    private void handleError(GameMessage.ErrorMessage msg) {
         Platform.runLater(() -> {
-            showError(msg.getMessage());
+            showError(msg.message());
         });
     }
     
@@ -201,7 +206,11 @@ public class LobbyController implements Initializable {
             showError("Veuillez entrer un code");
             return;
         }
-        gameClient.joinGame(code);
+        gameClient.joinGame(code).whenComplete((joined, error) -> {
+            if (error != null) {
+                Platform.runLater(() -> showError(requestError(error)));
+            }
+        });
     }
     
     @FXML
@@ -213,7 +222,27 @@ public class LobbyController implements Initializable {
             return;
         }
         
-        gameClient.startGame();
+        startButton.setDisable(true);
+        gameClient.startGame().whenComplete((started, error) -> {
+            if (error != null) {
+                // Le démarrage a échoué : l'hôte peut réessayer
+                Platform.runLater(() -> {
+                    startButton.setDisable(false);
+                    showError(requestError(error));
+                });
+            }
+        });
+    }
+    
+    /**
+     * Message d'erreur à afficher pour l'échec d'une requête
+     */
+    private String requestError(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof TimeoutException) {
+            return "Le serveur ne répond pas";
+        }
+        return cause.getMessage();
     }
     
     @FXML
@@ -2,8 +2,10 @@ package com.bac.controller;
 
 import com.bac.model.entity.Player;
 import com.bac.network.GameClient;
+import com.bac.network.GameMessage;
 import com.bac.network.GameServer;
 import com.bac.service.GameService;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.*;
@@ -12,6 +14,8 @@ import javafx.scene.layout.VBox;
 import java.net.URL;
 import java.util.Optional;
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Contrôleur pour le menu principal
@@ -57,18 +61,22 @@ public class MainMenuController implements Initializable {
         Player player = gameService.getCurrentPlayer();
         GameClient client = new GameClient(player.getPseudo());
         
-        if (client.connect()) {
-            // Créer une nouvelle partie
-            client.createGame();
-            
-            // Naviguer vers le lobby
-            LobbyController controller = navigation.goToLobby();
-            if (controller != null) {
-                controller.initAsHost(client);
-            }
-        } else {
-            showError("Impossible de se connecter au serveur");
-        }
+        // Connexion puis création de la partie hors du thread JavaFX
+        client.connectAsync()
+            .thenCompose(connected -> client.createGame())
+            .whenComplete((created, error) -> Platform.runLater(() -> {
+                if (error != null) {
+                    client.disconnect();
+                    showError(connectionError(error));
+                    return;
+                }
+                
+                // Naviguer vers le lobby
+                LobbyController controller = navigation.goToLobby();
+                if (controller != null) {
+                    controller.initAsHost(client, (GameMessage.GameCreated) created);
+                }
+            }));
     }
     
     @FXML
@@ -90,18 +98,22 @@ public class MainMenuController implements Initializable {
             Player player = gameService.getCurrentPlayer();
             GameClient client = new GameClient(player.getPseudo());
             
-            if (client.connect()) {
-                // Rejoindre la partie
-                client.joinGame(code.trim().toUpperCase());
-                
-                // Naviguer vers le lobby
-                LobbyController controller = navigation.goToLobby();
-                if (controller != null) {
-                    controller.initAsGuest(client, code.trim().toUpperCase());
-                }
-            } else {
-                showError("Impossible de se connecter au serveur");
-            }
+            String sessionCode = code.trim().toUpperCase();
+            client.connectAsync()
+                .thenCompose(connected -> client.joinGame(sessionCode))
+                .whenComplete((joined, error) -> Platform.runLater(() -> {
+                    if (error != null) {
+                        client.disconnect();
+                        showError(connectionError(error));
+                        return;
+                    }
+                    
+                    // Naviguer vers le lobby une fois la partie rejointe
+                    LobbyController controller = navigation.goToLobby();
+                    if (controller != null) {
+                        controller.initAsGuest(client, (GameMessage.PlayerJoined) joined);
+                    }
+                }));
         });
     }
     
@@ -121,6 +133,20 @@ public class MainMenuController implements Initializable {
         navigation.goToLogin();
     }
     
+    /**
+     * Message d'erreur à afficher pour l'échec d'une connexion ou d'une requête
+     */
+    private String connectionError(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof GameClient.RequestFailedException) {
+            return cause.getMessage();
+        }
+        if (cause instanceof TimeoutException) {
+            return "Le serveur ne répond pas";
+        }
+        return "Impossible de se connecter au serveur";
+    }
+    
     private void showError(String message) {
         Alert alert = new Alert(Alert.AlertType.ERROR);
         alert.setTitle("Erreur");
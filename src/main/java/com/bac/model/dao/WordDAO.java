@@ -76,6 +76,17 @@ public class WordDAO extends BaseDAO<Word> {
         return save(newWord);
     }
     
+    /**
+     * Tous les mots valides, sous forme de paires (nom de catégorie, mot)
+     */
+    public List<Object[]> findValidWordsWithCategoryName() {
+        try (Session session = getSession()) {
+            return session.createQuery(
+                    "SELECT c.name, w.word FROM Word w JOIN w.category c WHERE w.valid = true", Object[].class)
+                    .list();
+        }
+    }
+    
     public long countValidWords() {
         try (Session session = getSession()) {
             return session.createQuery(
@@ -0,0 +1,121 @@
+package com.bac.network;
+
+import com.bac.service.ConfigService;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compression optionnelle des trames (une ligne JSON par message).
+ * Une trame compressée commence par '~' suivi du contenu deflate encodé en Base64.
+ * Le dictionnaire prédéfini contient les noms de champs du protocole et les
+ * catégories par défaut : il doit être identique côté client et serveur.
+ */
+final class FrameCompressor {
+
+    /**
+     * Valeur négociée dans JOIN_GAME / GAME_CREATED / PLAYER_JOINED ; la version désigne le dictionnaire,
+     * un pair dont le dictionnaire diffère n'active donc pas la compression
+     */
+    static final String DEFLATE = "deflate-v2";
+
+    private static final char COMPRESSED_MARKER = '~';
+    private static final int MAX_FRAME_SIZE = 1024 * 1024;
+
+    // Formes produites par GameMessageAdapter ; les chaînes les plus fréquentes sont placées en fin
+    // de dictionnaire. Toute modification impose de changer la version portée par DEFLATE.
+    private static final byte[] DICTIONARY = (
+            "\"Prénom\",\"Animal\",\"Pays\",\"Ville\",\"Fruit\",\"Métier\",\"Objet\",\"Plante\"," +
+            "\"Couleur\",\"Sport\",\"Marque\",\"Légume\",\"Instrument\"," +
+            "{\"type\":\"PONG\",\"clientTime\":,\"serverTime\":{\"type\":\"PING\",\"clientTime\":,\"rtt\":" +
+            "{\"type\":\"TIMER_UPDATE\",\"timeRemaining\":{\"type\":\"PLAYER_FINISHED\",\"playerId\":" +
+            "{\"type\":\"ANSWER_DRAFT\",\"categoryId\":,\"word\":\"" +
+            "{\"type\":\"PLAYER_READY\",\"senderPseudo\":\"{\"type\":\"JOIN_GAME\",\"senderPseudo\":\"" +
+            "{\"type\":\"ERROR\",\"message\":\"\",\"success\":false{\"type\":\"RESULTS\",\"scores\":[],\"winner\":" +
+            "{\"type\":\"GAME_CREATED\",\"sessionCode\":\"{\"type\":\"PLAYER_JOINED\",\"senderPseudo\":\"" +
+            "{\"type\":\"GAME_START\",\"sessionCode\":\"],\"timeRemaining\":" +
+            "\",\"gameLetter\":\"\",\"categories\":[\"],\"compression\":\"" + DEFLATE + "\",\"success\":true" +
+            "{\"type\":\"SUBMIT_ANSWERS\",\"answers\":[\"{\"type\":\"PLAYER_LIST\",\"players\":[\"" +
+            ",\"correlationId\":"
+    ).getBytes(StandardCharsets.UTF_8);
+
+    private static final ThreadLocal<Deflater> DEFLATER =
+            ThreadLocal.withInitial(() -> new Deflater(Deflater.BEST_SPEED));
+    private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(Inflater::new);
+
+    private FrameCompressor() {}
+
+    /**
+     * Indique si la compression est activée dans la configuration locale
+     */
+    static boolean isEnabled() {
+        return ConfigService.getInstance().isCompressionEnabled();
+    }
+
+    /**
+     * Compresse la trame si elle dépasse le seuil configuré et que le résultat est plus court.
+     * Les petites trames (PING, TIMER_UPDATE...) sont renvoyées telles quelles.
+     */
+    static String encode(String json) {
+        if (json.length() < ConfigService.getInstance().getCompressionThreshold()) {
+            return json;
+        }
+
+        byte[] input = json.getBytes(StandardCharsets.UTF_8);
+        Deflater deflater = DEFLATER.get();
+        deflater.reset();
+        deflater.setDictionary(DICTIONARY);
+        deflater.setInput(input);
+        deflater.finish();
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream(input.length / 2);
+        byte[] buffer = new byte[1024];
+        while (!deflater.finished()) {
+            int count = deflater.deflate(buffer);
+            output.write(buffer, 0, count);
+        }
+
+        String encoded = COMPRESSED_MARKER + Base64.getEncoder().encodeToString(output.toByteArray());
+        return encoded.length() < json.length() ? encoded : json;
+    }
+
+    /**
+     * Décompresse une trame si nécessaire ; les trames JSON en clair sont renvoyées telles quelles
+     */
+    static String decode(String line) {
+        if (line.isEmpty() || line.charAt(0) != COMPRESSED_MARKER) {
+            return line;
+        }
+
+        byte[] input = Base64.getDecoder().decode(line.substring(1));
+        Inflater inflater = INFLATER.get();
+        inflater.reset();
+        inflater.setInput(input);
+
+        try {
+            ByteArrayOutputStream output = new ByteArrayOutputStream(input.length * 4);
+            byte[] buffer = new byte[1024];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0) {
+                    if (inflater.needsDictionary()) {
+                        inflater.setDictionary(DICTIONARY);
+                    } else if (inflater.needsInput()) {
+                        throw new IllegalArgumentException("Trame compressée tronquée");
+                    }
+                }
+                output.write(buffer, 0, count);
+                if (output.size() > MAX_FRAME_SIZE) {
+                    throw new IllegalArgumentException("Trame décompressée trop volumineuse");
+                }
+            }
+            return output.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Trame compressée invalide: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.bac.network;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lecture des trames entrantes d'une connexion (une ligne par message).
+ * Les tampons sont réutilisés d'une trame à l'autre et le tampon de lecture
+ * provient d'un pool partagé entre connexions : une trame PING ne crée aucun objet.
+ */
+final class FrameReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_FRAME_SIZE = 1024 * 1024;
+    private static final int MAX_POOLED_BUFFERS = 64;
+
+    private static final ConcurrentLinkedQueue<byte[]> POOL = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger POOLED = new AtomicInteger();
+
+    private final InputStream in;
+    private byte[] buffer;
+    private int position;
+    private int limit;
+
+    // Trame courante : octets bruts puis caractères décodés
+    private byte[] lineBytes = new byte[512];
+    private char[] lineChars = new char[512];
+    private int byteLength;
+    private int charLength;
+    private boolean ascii;
+
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    FrameReader(InputStream in) {
+        this.in = in;
+        byte[] pooled = POOL.poll();
+        if (pooled != null) {
+            POOLED.decrementAndGet();
+        }
+        this.buffer = pooled != null ? pooled : new byte[BUFFER_SIZE];
+    }
+
+    /**
+     * Lit la trame suivante ; renvoie false en fin de flux
+     */
+    boolean next() throws IOException {
+        byteLength = 0;
+        ascii = true;
+        boolean read = false;
+
+        while (true) {
+            if (position == limit) {
+                int count = in.read(buffer, 0, buffer.length);
+                if (count < 0) {
+                    // Dernière ligne sans '\n'
+                    if (!read) return false;
+                    break;
+                }
+                position = 0;
+                limit = count;
+                continue;
+            }
+            read = true;
+
+            int start = position;
+            int end = start;
+            while (end < limit && buffer[end] != '\n') {
+                end++;
+            }
+            append(start, end);
+            position = end < limit ? end + 1 : end;
+            if (end < limit) break;
+        }
+
+        if (byteLength > 0 && lineBytes[byteLength - 1] == '\r') {
+            byteLength--;
+        }
+        decodeLine();
+        return true;
+    }
+
+    /**
+     * Décode la trame courante (décompression éventuelle comprise)
+     */
+    GameMessage message() {
+        if (charLength > 0 && lineChars[0] == '~') {
+            return GameMessage.fromJson(FrameCompressor.decode(new String(lineChars, 0, charLength)));
+        }
+        return GameMessageAdapter.INSTANCE.decode(lineChars, charLength);
+    }
+
+    /**
+     * Indique si d'autres octets déjà reçus attendent d'être traités
+     */
+    boolean hasBufferedInput() {
+        return position < limit;
+    }
+
+    private void append(int start, int end) throws IOException {
+        int count = end - start;
+        if (byteLength + count > MAX_FRAME_SIZE) {
+            throw new IOException("Trame trop volumineuse");
+        }
+        if (byteLength + count > lineBytes.length) {
+            byte[] grown = new byte[Math.max(lineBytes.length * 2, byteLength + count)];
+            System.arraycopy(lineBytes, 0, grown, 0, byteLength);
+            lineBytes = grown;
+        }
+        for (int i = start; i < end; i++) {
+            byte b = buffer[i];
+            ascii &= b >= 0;
+            lineBytes[byteLength++] = b;
+        }
+    }
+
+    private void decodeLine() {
+        // En UTF-8, le nombre de caractères ne dépasse jamais le nombre d'octets
+        if (lineChars.length < byteLength) {
+            lineChars = new char[Math.max(lineChars.length * 2, byteLength)];
+        }
+
+        if (ascii) {
+            for (int i = 0; i < byteLength; i++) {
+                lineChars[i] = (char) lineBytes[i];
+            }
+            charLength = byteLength;
+            return;
+        }
+
+        CharBuffer chars = CharBuffer.wrap(lineChars);
+        decoder.reset();
+        decoder.decode(ByteBuffer.wrap(lineBytes, 0, byteLength), chars, true);
+        decoder.flush(chars);
+        charLength = chars.position();
+    }
+
+    @Override
+    public void close() throws IOException {
+        byte[] released = buffer;
+        buffer = null;
+        if (released != null && POOLED.incrementAndGet() <= MAX_POOLED_BUFFERS) {
+            POOL.offer(released);
+        } else if (released != null) {
+            POOLED.decrementAndGet();
+        }
+        in.close();
+    }
+}
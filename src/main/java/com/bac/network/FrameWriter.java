@@ -0,0 +1,154 @@
+package com.bac.network;
+
+import com.bac.service.ConfigService;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Écriture bufferisée des trames sortantes d'une connexion.
+ * Les trames sont accumulées puis vidées en un seul appel système, soit à la fin
+ * de l'itération de lecture (flush()), soit après un court délai d'attente (linger)
+ * qui regroupe les rafales (PLAYER_FINISHED, PLAYER_LIST, RESULTS...).
+ * write() ne touche jamais la socket, même sans linger : les vidages passent par un thread propre
+ * à la connexion : un pair qui ne lit plus (fenêtre TCP pleine) ne bloque que sa connexion.
+ * Un envoi bloqué au-delà de network.write.timeout.ms, ou trop de trames en attente, ferment celle-ci.
+ */
+final class FrameWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 8192;
+    // Trames en attente au-delà desquelles le pair est considéré comme bloqué (caractères)
+    private static final int MAX_PENDING_CHARS = 1 << 20;
+
+    // Surveillance partagée de la durée des envois : ferme les flux bloqués, n'écrit jamais
+    private static final ScheduledExecutorService WATCHDOG = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "frame-write-watchdog");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final OutputStream stream;
+    private final Writer out;
+    private final long lingerMicros;
+    private final long writeTimeoutMillis;
+    // Vidages déclenchés par write() pour cette connexion
+    private final ScheduledExecutorService flusher;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+    // Trames en attente d'envoi, protégées par le verrou de l'objet
+    private StringBuilder pending = new StringBuilder();
+    private volatile boolean closed;
+
+    FrameWriter(OutputStream stream) {
+        this.stream = stream;
+        this.out = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        ConfigService config = ConfigService.getInstance();
+        this.lingerMicros = config.getFlushLingerMicros();
+        this.writeTimeoutMillis = config.getWriteTimeoutMs();
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "frame-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Ajoute une trame en attente ; le thread de la connexion la vide après la durée de linger
+     * (dès que possible si linger vaut 0)
+     */
+    void write(String frame) {
+        if (closed) return;
+        synchronized (this) {
+            if (pending.length() + frame.length() > MAX_PENDING_CHARS) {
+                abort("trop de trames en attente, le pair ne lit plus");
+                return;
+            }
+            pending.append(frame).append('\n');
+        }
+
+        if (flushScheduled.compareAndSet(false, true)) {
+            try {
+                if (lingerMicros <= 0) {
+                    flusher.execute(this::flush);
+                } else {
+                    flusher.schedule(this::flush, lingerMicros, TimeUnit.MICROSECONDS);
+                }
+            } catch (RejectedExecutionException e) {
+                // Connexion fermée entre-temps
+            }
+        }
+    }
+
+    /**
+     * Envoie les trames en attente (un seul write sur la socket) ; les trames ajoutées
+     * pendant l'envoi partent au vidage suivant
+     */
+    void flush() {
+        flushScheduled.set(false);
+        if (closed) return;
+        synchronized (out) {
+            String batch;
+            synchronized (this) {
+                if (pending.length() == 0) return;
+                batch = pending.toString();
+                pending.setLength(0);
+            }
+            ScheduledFuture<?> timeout = WATCHDOG.schedule(
+                () -> abort("envoi bloqué depuis " + writeTimeoutMillis + " ms"),
+                writeTimeoutMillis, TimeUnit.MILLISECONDS);
+            try {
+                out.write(batch);
+                out.flush();
+            } catch (IOException e) {
+                fail(e.getMessage());
+            } finally {
+                timeout.cancel(false);
+            }
+        }
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    private void fail(String reason) {
+        if (!closed) {
+            closed = true;
+            System.err.println("Erreur d'écriture: " + reason);
+        }
+        flusher.shutdown();
+    }
+
+    /**
+     * Abandonne la connexion : fermer le flux débloque l'envoi en cours, et la lecture
+     * de la connexion échoue à son tour
+     */
+    private void abort(String reason) {
+        fail(reason);
+        try {
+            stream.close();
+        } catch (IOException e) {
+            // Déjà fermé
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        closed = true;
+        flusher.shutdown();
+        synchronized (out) {
+            out.close();
+        }
+    }
+}
@@ -5,9 +5,12 @@ import javafx.application.Platform;
 
 import java.io.*;
 import java.net.*;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.IntFunction;
 
 /**
  * Client de jeu multijoueur
@@ -15,70 +18,189 @@ import java.util.function.Consumer;
  */
 public class GameClient {
     
-    private Socket socket;
-    private BufferedReader in;
-    private PrintWriter out;
-    private final ExecutorService executor;
+    // Mesures de latence : un seul thread partagé par tous les clients
+    private static final ScheduledExecutorService PINGER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "game-client-ping");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    private volatile Socket socket;
+    private volatile BufferedReader in;
+    private volatile FrameWriter out;
+    // Un seul thread d'E/S par client : connexion, lecture et reconnexions (arrêté après une minute d'inactivité)
+    private final ThreadPoolExecutor io;
+    private final MessageInbox inbox;
+    private final LatencyEstimator latency = new LatencyEstimator();
+    private volatile ScheduledFuture<?> pingTask;
+    // Requêtes en attente de réponse, par identifiant de corrélation
+    private final Map<Integer, CompletableFuture<GameMessage>> pendingRequests = new ConcurrentHashMap<>();
+    private final AtomicInteger nextCorrelationId = new AtomicInteger();
     private volatile boolean connected;
+    private volatile boolean closing;
+    private volatile boolean compressionEnabled;
+    // Le serveur a accepté le format indexé (sinon ancien serveur : réponses par noms, pas de brouillons)
+    private volatile boolean indexedFormat;
+    // GAME_START reçu pour la salle courante : le serveur n'y accepte plus d'arrivée
+    private volatile boolean gameStarted;
     
     private String pseudo;
-    private String currentSessionCode;
+    private volatile String currentSessionCode;
     private Character gameLetter;
+    // Tables de symboles de la salle : l'index est l'identifiant
     private List<String> categories;
     private List<String> players;
     
     // Callbacks pour les événements
-    private Consumer<GameMessage> onGameCreated;
-    private Consumer<GameMessage> onPlayerJoined;
-    private Consumer<GameMessage> onPlayerLeft;
-    private Consumer<GameMessage> onGameStart;
-    private Consumer<GameMessage> onGameEnd;
-    private Consumer<GameMessage> onTimerUpdate;
-    private Consumer<GameMessage> onResults;
-    private Consumer<GameMessage> onError;
-    private Consumer<GameMessage> onPlayerList;
-    private Consumer<GameMessage> onPlayerFinished;
+    private Consumer<GameMessage.GameCreated> onGameCreated;
+    private Consumer<GameMessage.PlayerJoined> onPlayerJoined;
+    private Consumer<GameMessage.PlayerLeft> onPlayerLeft;
+    private Consumer<GameMessage.GameStart> onGameStart;
+    private Consumer<GameMessage.GameEnd> onGameEnd;
+    private Consumer<GameMessage.TimerUpdate> onTimerUpdate;
+    private Consumer<GameMessage.Results> onResults;
+    private Consumer<GameMessage.ErrorMessage> onError;
+    private Consumer<GameMessage.PlayerList> onPlayerList;
+    private Consumer<GameMessage.PlayerFinished> onPlayerFinished;
     private Runnable onDisconnect;
     
     public GameClient(String pseudo) {
         this.pseudo = pseudo;
-        this.executor = Executors.newCachedThreadPool();
+        this.io = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "game-client-io-" + pseudo);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.io.allowCoreThreadTimeOut(true);
+        this.inbox = new MessageInbox(this::dispatch);
         this.connected = false;
         this.categories = new ArrayList<>();
         this.players = new ArrayList<>();
     }
     
     /**
-     * Se connecte au serveur local
+     * Se connecte au serveur local sans bloquer l'appelant
      */
-    public boolean connect() {
-        return connect("localhost", ConfigService.getInstance().getServerPort());
+    public CompletableFuture<Void> connectAsync() {
+        return connectAsync("localhost", ConfigService.getInstance().getServerPort());
     }
     
     /**
-     * Se connecte à un serveur distant
+     * Se connecte à un serveur distant sans bloquer l'appelant.
+     * Le futur est complété (sur le thread d'E/S) une fois la socket ouverte,
+     * ou en erreur si la première connexion échoue (le client peut alors réessayer).
+     * Après disconnect(), le client est définitivement fermé.
      */
-    public boolean connect(String host, int port) {
+    public CompletableFuture<Void> connectAsync(String host, int port) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
         try {
-            socket = new Socket();
-            socket.connect(new InetSocketAddress(host, port), 5000);
-            in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-            out = new PrintWriter(socket.getOutputStream(), true);
-            connected = true;
-            
-            // Démarrer l'écoute des messages
-            executor.submit(this::listenForMessages);
-            
-            System.out.println("Connecté au serveur " + host + ":" + port);
-            return true;
+            io.execute(() -> runConnection(host, port, future));
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(new IOException("Client déjà fermé"));
+        }
+        return future;
+    }
+    
+    /**
+     * Boucle du thread d'E/S : connexion, écoute, puis reconnexion tant que possible
+     */
+    private void runConnection(String host, int port, CompletableFuture<Void> future) {
+        try {
+            open(host, port);
         } catch (IOException e) {
             System.err.println("Erreur de connexion: " + e.getMessage());
+            future.completeExceptionally(e);
+            return;
+        }
+        future.complete(null);
+        
+        do {
+            listenForMessages();
+        } while (!closing && reconnect(host, port));
+        
+        disconnect();
+    }
+    
+    private void open(String host, int port) throws IOException {
+        Socket newSocket = new Socket();
+        try {
+            newSocket.setTcpNoDelay(ConfigService.getInstance().isTcpNoDelay());
+            newSocket.connect(new InetSocketAddress(host, port), 5000);
+            in = new BufferedReader(new InputStreamReader(newSocket.getInputStream(), StandardCharsets.UTF_8));
+            out = new FrameWriter(newSocket.getOutputStream());
+        } catch (IOException e) {
+            newSocket.close();
+            throw e;
+        }
+        socket = newSocket;
+        compressionEnabled = false;
+        connected = true;
+        
+        // Nouvelle route réseau : repartir de zéro pour la latence
+        latency.reset();
+        long interval = ConfigService.getInstance().getPingIntervalMs();
+        pingTask = PINGER.scheduleAtFixedRate(this::sendPing, 0, interval, TimeUnit.MILLISECONDS);
+        
+        System.out.println("Connecté au serveur " + host + ":" + port);
+    }
+    
+    /**
+     * Tente de rétablir la connexion avec un délai exponentiel (gigue de 50 %),
+     * puis rejoint la salle quittée.
+     * Inutile une fois la partie commencée : le serveur a libéré la place du joueur et refuse les arrivées.
+     */
+    private boolean reconnect(String host, int port) {
+        if (gameStarted) {
+            System.err.println("Connexion perdue pendant la partie : reconnexion impossible");
             return false;
         }
+        ConfigService config = ConfigService.getInstance();
+        int maxAttempts = config.getReconnectMaxAttempts();
+        long delay = config.getReconnectBaseDelayMs();
+        
+        for (int attempt = 1; attempt <= maxAttempts && !closing; attempt++) {
+            long wait = delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+            System.out.println("Reconnexion dans " + wait + " ms (tentative " + attempt + "/" + maxAttempts + ")");
+            try {
+                Thread.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            if (closing) return false;
+            
+            try {
+                open(host, port);
+                rejoin();
+                return true;
+            } catch (IOException e) {
+                System.err.println("Échec de la reconnexion: " + e.getMessage());
+            }
+            delay = Math.min(delay * 2, config.getReconnectMaxDelayMs());
+        }
+        return false;
+    }
+    
+    /**
+     * Rejoint la salle quittée lors de la coupure (le serveur a libéré l'emplacement du joueur) ;
+     * un refus du serveur met fin à la connexion
+     */
+    private void rejoin() {
+        String sessionCode = currentSessionCode;
+        if (sessionCode == null) return;
+        joinGame(sessionCode).whenComplete((response, error) -> {
+            if (error == null) {
+                System.out.println("Salle " + sessionCode + " rejointe après reconnexion");
+            } else if (connected) {
+                // Refus ou absence de réponse sur une connexion toujours ouverte (une coupure relance la boucle)
+                System.err.println("Impossible de rejoindre la salle " + sessionCode + ": " + error.getMessage());
+                disconnect();
+            }
+        });
     }
     
     /**
-     * Écoute les messages du serveur
+     * Écoute les messages du serveur jusqu'à la perte de la connexion
      */
     private void listenForMessages() {
         try {
@@ -91,7 +213,10 @@ public class GameClient {
                 System.err.println("Erreur de lecture: " + e.getMessage());
             }
         } finally {
-            disconnect();
+            connected = false;
+            closeConnection();
+            // Le serveur a perdu l'état de la connexion : les réponses n'arriveront plus
+            failPendingRequests("Connexion au serveur perdue");
         }
     }
     
@@ -100,85 +225,104 @@ public class GameClient {
      */
     private void processMessage(String json) {
         try {
-            GameMessage msg = GameMessage.fromJson(json);
+            GameMessage msg = GameMessage.fromJson(FrameCompressor.decode(json));
             
             // Mettre à jour l'état local
             updateLocalState(msg);
             
-            // Appeler le callback approprié sur le thread JavaFX
-            Platform.runLater(() -> {
-                switch (msg.getType()) {
-                    case GAME_CREATED -> {
-                        if (onGameCreated != null) onGameCreated.accept(msg);
-                    }
-                    case PLAYER_JOINED -> {
-                        if (onPlayerJoined != null) onPlayerJoined.accept(msg);
-                    }
-                    case PLAYER_LEFT -> {
-                        if (onPlayerLeft != null) onPlayerLeft.accept(msg);
-                    }
-                    case GAME_START -> {
-                        if (onGameStart != null) onGameStart.accept(msg);
-                    }
-                    case GAME_END -> {
-                        if (onGameEnd != null) onGameEnd.accept(msg);
-                    }
-                    case TIMER_UPDATE -> {
-                        if (onTimerUpdate != null) onTimerUpdate.accept(msg);
-                    }
-                    case RESULTS -> {
-                        if (onResults != null) onResults.accept(msg);
-                    }
-                    case ERROR -> {
-                        if (onError != null) onError.accept(msg);
-                    }
-                    case PLAYER_LIST -> {
-                        if (onPlayerList != null) onPlayerList.accept(msg);
-                    }
-                    case PLAYER_FINISHED -> {
-                        if (onPlayerFinished != null) onPlayerFinished.accept(msg);
-                    }
-                    default -> System.out.println("Message non géré: " + msg.getType());
-                }
-            });
+            // Répondre aux requêtes en attente avant les callbacks ;
+            // une erreur déjà remise à sa requête ne passe pas par onError
+            if (completeRequest(msg) && msg instanceof GameMessage.ErrorMessage) return;
+            
+            // Les callbacks sont appelés par lot sur le thread JavaFX
+            inbox.post(msg);
         } catch (Exception e) {
             System.err.println("Erreur de traitement du message: " + e.getMessage());
         }
     }
     
+    /**
+     * Transmet un message au callback correspondant à son type
+     */
+    private void dispatch(GameMessage msg) {
+        switch (msg.type()) {
+            case GAME_CREATED -> notify(onGameCreated, (GameMessage.GameCreated) msg);
+            case PLAYER_JOINED -> notify(onPlayerJoined, (GameMessage.PlayerJoined) msg);
+            case PLAYER_LEFT -> notify(onPlayerLeft, (GameMessage.PlayerLeft) msg);
+            case GAME_START -> notify(onGameStart, (GameMessage.GameStart) msg);
+            case GAME_END -> notify(onGameEnd, (GameMessage.GameEnd) msg);
+            case TIMER_UPDATE -> notify(onTimerUpdate, (GameMessage.TimerUpdate) msg);
+            case RESULTS -> notify(onResults, (GameMessage.Results) msg);
+            case ERROR -> notify(onError, (GameMessage.ErrorMessage) msg);
+            case PLAYER_LIST -> notify(onPlayerList, (GameMessage.PlayerList) msg);
+            case PLAYER_FINISHED -> notify(onPlayerFinished, (GameMessage.PlayerFinished) msg);
+            case PONG -> { /* Rien à faire */ }
+            default -> System.out.println("Message non géré: " + msg.type());
+        }
+    }
+    
+    private static <T extends GameMessage> void notify(Consumer<T> callback, T msg) {
+        if (callback != null) {
+            callback.accept(msg);
+        }
+    }
+    
     private void updateLocalState(GameMessage msg) {
-        if (msg.getSessionCode() != null) {
-            this.currentSessionCode = msg.getSessionCode();
+        switch (msg.type()) {
+            case GAME_CREATED -> {
+                GameMessage.GameCreated created = (GameMessage.GameCreated) msg;
+                updateGameInfo(created.sessionCode(), created.gameLetter(), created.categories());
+                compressionEnabled = FrameCompressor.DEFLATE.equals(created.compression());
+                indexedFormat = GameMessage.INDEXED.equals(created.format());
+            }
+            case PLAYER_JOINED -> {
+                GameMessage.PlayerJoined joined = (GameMessage.PlayerJoined) msg;
+                updateGameInfo(joined.sessionCode(), joined.gameLetter(), joined.categories());
+                compressionEnabled = FrameCompressor.DEFLATE.equals(joined.compression());
+                indexedFormat = GameMessage.INDEXED.equals(joined.format());
+            }
+            case GAME_START -> {
+                GameMessage.GameStart start = (GameMessage.GameStart) msg;
+                updateGameInfo(start.sessionCode(), start.gameLetter(), start.categories());
+                gameStarted = true;
+            }
+            case PLAYER_LIST -> this.players = ((GameMessage.PlayerList) msg).players();
+            case PONG -> {
+                // Mesure prise à la réception, avant tout passage par le thread JavaFX
+                GameMessage.Pong pong = (GameMessage.Pong) msg;
+                latency.sample(pong.clientTime(), pong.serverTime(), System.currentTimeMillis());
+            }
+            default -> { }
         }
-        if (msg.getGameLetter() != null) {
-            this.gameLetter = msg.getGameLetter();
+    }
+    
+    private void updateGameInfo(String sessionCode, Character letter, List<String> categories) {
+        if (sessionCode != null) {
+            if (!sessionCode.equals(currentSessionCode)) {
+                gameStarted = false;
+            }
+            this.currentSessionCode = sessionCode;
         }
-        if (msg.getCategories() != null) {
-            this.categories = msg.getCategories();
+        if (letter != null) {
+            this.gameLetter = letter;
         }
-        if (msg.getPlayers() != null) {
-            this.players = msg.getPlayers();
+        if (categories != null) {
+            this.categories = categories;
         }
     }
     
     /**
-     * Crée une nouvelle partie
+     * Crée une nouvelle partie ; le futur reçoit le GAME_CREATED
      */
-    public void createGame() {
-        if (!connected) return;
-        
-        GameMessage msg = GameMessage.createJoinMessage(pseudo, null);
-        send(msg);
+    public CompletableFuture<GameMessage> createGame() {
+        return request(id -> new GameMessage.JoinGame(pseudo, null, proposedCompression(), GameMessage.INDEXED, id));
     }
     
     /**
-     * Rejoint une partie existante
+     * Rejoint une partie existante ; le futur reçoit le PLAYER_JOINED
      */
-    public void joinGame(String sessionCode) {
-        if (!connected) return;
-        
-        GameMessage msg = GameMessage.createJoinMessage(pseudo, sessionCode);
-        send(msg);
+    public CompletableFuture<GameMessage> joinGame(String sessionCode) {
+        return request(id -> new GameMessage.JoinGame(pseudo, sessionCode, proposedCompression(), GameMessage.INDEXED, id));
     }
     
     /**
@@ -187,33 +331,106 @@ public class GameClient {
     public void leaveGame() {
         if (!connected) return;
         
-        GameMessage msg = new GameMessage(GameMessage.MessageType.LEAVE_GAME);
-        msg.setSenderPseudo(pseudo);
-        send(msg);
+        send(new GameMessage.LeaveGame(pseudo));
         currentSessionCode = null;
+        gameStarted = false;
     }
     
     /**
-     * Envoie le signal de démarrage (hôte uniquement)
+     * Envoie le signal de démarrage (hôte uniquement) ; le futur reçoit le GAME_START
      */
-    public void startGame() {
-        if (!connected) return;
+    public CompletableFuture<GameMessage> startGame() {
+        return request(id -> new GameMessage.PlayerReady(pseudo, currentSessionCode, id));
+    }
+    
+    /**
+     * Soumet les réponses ; le futur reçoit l'accusé PLAYER_FINISHED
+     */
+    public CompletableFuture<GameMessage> submitAnswers(Map<String, String> answers) {
+        if (!indexedFormat) {
+            return request(id -> new GameMessage.SubmitAnswers(null, new HashMap<>(answers), id));
+        }
+        // Les réponses sont envoyées dans l'ordre des identifiants de catégorie
+        List<String> indexedAnswers = new ArrayList<>(categories.size());
+        for (String category : categories) {
+            indexedAnswers.add(answers.getOrDefault(category, ""));
+        }
+        return request(id -> new GameMessage.SubmitAnswers(indexedAnswers, null, id));
+    }
+    
+    /**
+     * Envoie une requête et attend la réponse portant le même identifiant.
+     * Le futur échoue avec RequestFailedException (ERROR du serveur), après le délai
+     * network.request.timeout.ms (TimeoutException) ou à la perte de la connexion.
+     * Il est complété sur le thread d'E/S.
+     */
+    private CompletableFuture<GameMessage> request(IntFunction<GameMessage> factory) {
+        if (!connected) {
+            return CompletableFuture.failedFuture(new RequestFailedException("Non connecté au serveur"));
+        }
+        
+        int id = nextCorrelationId.updateAndGet(current -> current == Integer.MAX_VALUE ? 1 : current + 1);
+        CompletableFuture<GameMessage> future = new CompletableFuture<>();
+        pendingRequests.put(id, future);
+        future.orTimeout(ConfigService.getInstance().getRequestTimeoutMs(), TimeUnit.MILLISECONDS)
+            .whenComplete((response, error) -> pendingRequests.remove(id));
         
-        GameMessage msg = new GameMessage(GameMessage.MessageType.PLAYER_READY);
-        msg.setSenderPseudo(pseudo);
-        msg.setSessionCode(currentSessionCode);
-        send(msg);
+        send(factory.apply(id));
+        return future;
     }
     
     /**
-     * Soumet les réponses
+     * Complète la requête en attente à laquelle le message répond ; false si aucune ne correspond
      */
-    public void submitAnswers(Map<String, String> answers) {
+    private boolean completeRequest(GameMessage msg) {
+        if (!(msg instanceof GameMessage.Correlated correlated) || correlated.correlationId() == 0) return false;
+        
+        CompletableFuture<GameMessage> future = pendingRequests.remove(correlated.correlationId());
+        if (future == null) return false;
+        
+        if (msg instanceof GameMessage.ErrorMessage error) {
+            future.completeExceptionally(new RequestFailedException(error.message()));
+        } else {
+            future.complete(msg);
+        }
+        return true;
+    }
+    
+    private void failPendingRequests(String reason) {
+        for (Integer id : pendingRequests.keySet()) {
+            CompletableFuture<GameMessage> future = pendingRequests.remove(id);
+            if (future != null) {
+                future.completeExceptionally(new RequestFailedException(reason));
+            }
+        }
+    }
+    
+    /**
+     * Envoie le brouillon d'une réponse pour qu'il soit pré-validé par le serveur
+     */
+    public void sendAnswerDraft(String category, String word) {
+        if (!connected || !indexedFormat) return;
+        
+        int categoryId = categories.indexOf(category);
+        if (categoryId >= 0) {
+            send(new GameMessage.AnswerDraft(categoryId, word));
+        }
+    }
+    
+    /**
+     * Échantillon de latence : le RTT lissé courant est communiqué au serveur
+     */
+    private void sendPing() {
         if (!connected) return;
         
-        GameMessage msg = GameMessage.createAnswersMessage(pseudo, answers);
-        msg.setSessionCode(currentSessionCode);
-        send(msg);
+        send(new GameMessage.Ping(System.currentTimeMillis(), latency.getSmoothedRttMillis()));
+    }
+    
+    /**
+     * Compression proposée au serveur lors de la connexion à une partie
+     */
+    private String proposedCompression() {
+        return FrameCompressor.isEnabled() ? FrameCompressor.DEFLATE : null;
     }
     
     /**
@@ -221,25 +438,23 @@ public class GameClient {
      */
     private void send(GameMessage msg) {
         if (out != null && connected) {
-            out.println(msg.toJson());
+            String json = msg.toJson();
+            out.write(compressionEnabled ? FrameCompressor.encode(json) : json);
         }
     }
     
     /**
-     * Se déconnecte du serveur
+     * Se déconnecte du serveur (sans reconnexion)
      */
     public void disconnect() {
-        if (!connected) return;
+        if (closing) return;
         
+        closing = true;
         connected = false;
-        try {
-            if (in != null) in.close();
-            if (out != null) out.close();
-            if (socket != null && !socket.isClosed()) socket.close();
-        } catch (IOException e) {
-            System.err.println("Erreur lors de la déconnexion: " + e.getMessage());
-        }
-        executor.shutdown();
+        closeConnection();
+        failPendingRequests("Déconnecté du serveur");
+        // Interrompt une éventuelle attente de reconnexion
+        io.shutdownNow();
         
         if (onDisconnect != null) {
             Platform.runLater(onDisconnect);
@@ -248,45 +463,60 @@ public class GameClient {
         System.out.println("Déconnecté du serveur");
     }
     
+    private void closeConnection() {
+        ScheduledFuture<?> task = pingTask;
+        if (task != null) {
+            task.cancel(false);
+        }
+        try {
+            // Fermer la socket d'abord : débloque une lecture en cours qui détient le verrou du lecteur
+            if (socket != null && !socket.isClosed()) socket.close();
+            if (in != null) in.close();
+            if (out != null) out.close();
+        } catch (IOException e) {
+            System.err.println("Erreur lors de la déconnexion: " + e.getMessage());
+        }
+    }
+    
     // ==================== Setters pour les callbacks ====================
     
-    public void setOnGameCreated(Consumer<GameMessage> callback) {
+    public void setOnGameCreated(Consumer<GameMessage.GameCreated> callback) {
         this.onGameCreated = callback;
     }
     
-    public void setOnPlayerJoined(Consumer<GameMessage> callback) {
+    public void setOnPlayerJoined(Consumer<GameMessage.PlayerJoined> callback) {
         this.onPlayerJoined = callback;
     }
     
-    public void setOnPlayerLeft(Consumer<GameMessage> callback) {
+    public void setOnPlayerLeft(Consumer<GameMessage.PlayerLeft> callback) {
         this.onPlayerLeft = callback;
     }
     
-    public void setOnGameStart(Consumer<GameMessage> callback) {
+    public void setOnGameStart(Consumer<GameMessage.GameStart> callback) {
         this.onGameStart = callback;
     }
     
-    public void setOnGameEnd(Consumer<GameMessage> callback) {
+    public void setOnGameEnd(Consumer<GameMessage.GameEnd> callback) {
         this.onGameEnd = callback;
     }
     
-    public void setOnTimerUpdate(Consumer<GameMessage> callback) {
+    public void setOnTimerUpdate(Consumer<GameMessage.TimerUpdate> callback) {
         this.onTimerUpdate = callback;
     }
     
-    public void setOnResults(Consumer<GameMessage> callback) {
+    public void setOnResults(Consumer<GameMessage.Results> callback) {
         this.onResults = callback;
     }
     
-    public void setOnError(Consumer<GameMessage> callback) {
+    public void setOnError(Consumer<GameMessage.ErrorMessage> callback) {
         this.onError = callback;
     }
     
-    public void setOnPlayerList(Consumer<GameMessage> callback) {
+    public void setOnPlayerList(Consumer<GameMessage.PlayerList> callback) {
         this.onPlayerList = callback;
     }
     
-    public void setOnPlayerFinished(Consumer<GameMessage> callback) {
+    public void setOnPlayerFinished(Consumer<GameMessage.PlayerFinished> callback) {
         this.onPlayerFinished = callback;
     }
     
@@ -316,7 +546,89 @@ public class GameClient {
         return categories;
     }
     
+    /**
+     * RTT lissé avec le serveur en millisecondes (-1 tant qu'aucune mesure n'est disponible)
+     */
+    public int getSmoothedRttMillis() {
+        return latency.getSmoothedRttMillis();
+    }
+    
+    /**
+     * Variation moyenne du RTT en millisecondes (-1 tant qu'aucune mesure n'est disponible)
+     */
+    public int getJitterMillis() {
+        return latency.getJitterMillis();
+    }
+    
+    /**
+     * Décalage estimé entre l'horloge du serveur et l'horloge locale, en millisecondes
+     */
+    public long getClockOffsetMillis() {
+        return latency.getClockOffsetMillis();
+    }
+    
+    /**
+     * Heure courante du serveur estimée à partir de l'horloge locale
+     */
+    public long getServerTimeMillis() {
+        return System.currentTimeMillis() + latency.getClockOffsetMillis();
+    }
+    
+    /**
+     * Pseudos des joueurs présents dans la salle
+     */
     public List<String> getPlayers() {
-        return players;
+        return players.stream().filter(Objects::nonNull).toList();
+    }
+    
+    /**
+     * Résout un identifiant de joueur à partir de la dernière table reçue
+     */
+    public String getPlayerName(int playerId) {
+        List<String> table = players;
+        return playerId >= 0 && playerId < table.size() ? table.get(playerId) : null;
+    }
+    
+    /**
+     * Associe les scores indexés par identifiant aux pseudos des joueurs
+     */
+    public Map<String, Integer> resolveScores(GameMessage.Results results) {
+        if (results.scores() == null) {
+            return results.namedScores();
+        }
+        Map<String, Integer> resolved = new HashMap<>();
+        int[] scores = results.scores();
+        for (int playerId = 0; playerId < scores.length; playerId++) {
+            String name = getPlayerName(playerId);
+            if (scores[playerId] >= 0 && name != null) {
+                resolved.put(name, scores[playerId]);
+            }
+        }
+        return resolved;
+    }
+    
+    /**
+     * Pseudo du gagnant, quel que soit le format des résultats
+     */
+    public String resolveWinner(GameMessage.Results results) {
+        return results.scores() == null ? results.winner() : getPlayerName(results.winnerId());
+    }
+    
+    /**
+     * Pseudo du joueur qui a terminé, quel que soit le format du message
+     */
+    public String resolvePlayer(GameMessage.PlayerFinished finished) {
+        return finished.senderPseudo() != null ? finished.senderPseudo() : getPlayerName(finished.playerId());
+    }
+    
+    /**
+     * Échec d'une requête : erreur renvoyée par le serveur ou connexion indisponible
+     */
+    public static class RequestFailedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+        
+        public RequestFailedException(String message) {
+            super(message);
+        }
     }
 }
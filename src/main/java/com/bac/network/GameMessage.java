@@ -1,27 +1,34 @@
 package com.bac.network;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import java.io.Serializable;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 /**
- * Message échangé entre le serveur et les clients
+ * Message échangé entre le serveur et les clients.
+ * Chaque type de message a sa propre représentation (record) qui ne porte
+ * que les champs utiles.
+ *
+ * Tables de symboles de la salle : l'identifiant d'une catégorie est son index
+ * dans la liste "categories" (GAME_CREATED, PLAYER_JOINED, GAME_START) et
+ * l'identifiant d'un joueur est son index dans la liste "players" (PLAYER_LIST).
+ * Les messages indexés (réponses, PLAYER_FINISHED, RESULTS) ne sont envoyés qu'aux pairs
+ * ayant proposé le format INDEXED dans JOIN_GAME ; les autres reçoivent l'ancien format par noms.
  */
-public class GameMessage implements Serializable {
-    
-    private static final Gson gson = new GsonBuilder().create();
-    
-    public enum MessageType {
+public sealed interface GameMessage {
+
+    /** Format négocié dans JOIN_GAME / GAME_CREATED / PLAYER_JOINED ("format") */
+    String INDEXED = "indexed-v1";
+
+    enum MessageType {
         // Client -> Serveur
         JOIN_GAME,          // Rejoindre une partie
         LEAVE_GAME,         // Quitter la partie
         SUBMIT_ANSWERS,     // Soumettre les réponses
         PLAYER_READY,       // Joueur prêt
         CHAT_MESSAGE,       // Message de chat
-        
+        ANSWER_DRAFT,       // Réponse en cours de saisie (pré-validation)
+
         // Serveur -> Client
         GAME_CREATED,       // Partie créée (contient le code)
         PLAYER_JOINED,      // Un joueur a rejoint
@@ -33,207 +40,191 @@ public class GameMessage implements Serializable {
         ERROR,              // Erreur
         PLAYER_LIST,        // Liste des joueurs
         PLAYER_FINISHED,    // Un joueur a terminé
-        
+
         // Bidirectionnel
         PING,
         PONG
     }
-    
-    private MessageType type;
-    private String senderPseudo;
-    private String sessionCode;
-    private Character gameLetter;
-    private Map<String, String> answers;
-    private Map<String, Boolean> validations;
-    private Map<String, Integer> scores;
-    private List<String> categories;
-    private List<String> players;
-    private String message;
-    private int timeRemaining;
-    private int score;
-    private boolean success;
-    
-    public GameMessage() {
-        this.answers = new HashMap<>();
-        this.validations = new HashMap<>();
-        this.scores = new HashMap<>();
-    }
-    
-    public GameMessage(MessageType type) {
-        this();
-        this.type = type;
-    }
-    
-    // Méthodes de sérialisation
-    public String toJson() {
-        return gson.toJson(this);
-    }
-    
-    public static GameMessage fromJson(String json) {
-        return gson.fromJson(json, GameMessage.class);
-    }
-    
-    // Constructeurs utilitaires
-    public static GameMessage createJoinMessage(String pseudo, String sessionCode) {
-        GameMessage msg = new GameMessage(MessageType.JOIN_GAME);
-        msg.setSenderPseudo(pseudo);
-        msg.setSessionCode(sessionCode);
-        return msg;
-    }
-    
-    public static GameMessage createGameCreatedMessage(String sessionCode, Character letter, List<String> categories) {
-        GameMessage msg = new GameMessage(MessageType.GAME_CREATED);
-        msg.setSessionCode(sessionCode);
-        msg.setGameLetter(letter);
-        msg.setCategories(categories);
-        msg.setSuccess(true);
-        return msg;
-    }
-    
-    public static GameMessage createStartMessage(String sessionCode, Character letter, List<String> categories, int timeLimit) {
-        GameMessage msg = new GameMessage(MessageType.GAME_START);
-        msg.setSessionCode(sessionCode);
-        msg.setGameLetter(letter);
-        msg.setCategories(categories);
-        msg.setTimeRemaining(timeLimit);
-        return msg;
-    }
-    
-    public static GameMessage createAnswersMessage(String pseudo, Map<String, String> answers) {
-        GameMessage msg = new GameMessage(MessageType.SUBMIT_ANSWERS);
-        msg.setSenderPseudo(pseudo);
-        msg.setAnswers(answers);
-        return msg;
-    }
-    
-    public static GameMessage createResultsMessage(Map<String, Integer> scores, String winnerPseudo) {
-        GameMessage msg = new GameMessage(MessageType.RESULTS);
-        msg.setScores(scores);
-        msg.setMessage(winnerPseudo);
-        return msg;
-    }
-    
-    public static GameMessage createErrorMessage(String errorMessage) {
-        GameMessage msg = new GameMessage(MessageType.ERROR);
-        msg.setMessage(errorMessage);
-        msg.setSuccess(false);
-        return msg;
-    }
-    
-    public static GameMessage createPlayerListMessage(List<String> players) {
-        GameMessage msg = new GameMessage(MessageType.PLAYER_LIST);
-        msg.setPlayers(players);
-        return msg;
-    }
-    
-    public static GameMessage createTimerMessage(int secondsRemaining) {
-        GameMessage msg = new GameMessage(MessageType.TIMER_UPDATE);
-        msg.setTimeRemaining(secondsRemaining);
-        return msg;
-    }
-    
-    // Getters et Setters
-    public MessageType getType() {
-        return type;
-    }
-
-    public void setType(MessageType type) {
-        this.type = type;
-    }
-
-    public String getSenderPseudo() {
-        return senderPseudo;
-    }
-
-    public void setSenderPseudo(String senderPseudo) {
-        this.senderPseudo = senderPseudo;
-    }
 
-    public String getSessionCode() {
-        return sessionCode;
-    }
+    MessageType type();
 
-    public void setSessionCode(String sessionCode) {
-        this.sessionCode = sessionCode;
+    /**
+     * Requête du client ou réponse du serveur qui lui est destinée.
+     * correlationId est choisi par le client (0 si aucun) et recopié par le serveur dans la réponse.
+     */
+    sealed interface Correlated extends GameMessage {
+        int correlationId();
     }
 
-    public Character getGameLetter() {
-        return gameLetter;
+    // Méthodes de sérialisation
+    default String toJson() {
+        return GameMessageAdapter.INSTANCE.encode(this);
     }
 
-    public void setGameLetter(Character gameLetter) {
-        this.gameLetter = gameLetter;
+    static GameMessage fromJson(String json) {
+        return GameMessageAdapter.INSTANCE.decode(json);
     }
 
-    public Map<String, String> getAnswers() {
-        return answers;
-    }
+    // ==================== Client -> Serveur ====================
 
-    public void setAnswers(Map<String, String> answers) {
-        this.answers = answers;
+    /**
+     * compression : algorithme proposé par le client (null si non supporté).
+     * format : INDEXED si le client comprend les identifiants (null pour un ancien client).
+     */
+    record JoinGame(String senderPseudo, String sessionCode, String compression, String format,
+                    int correlationId) implements Correlated {
+        public JoinGame(String senderPseudo, String sessionCode, String compression) {
+            this(senderPseudo, sessionCode, compression, null, 0);
+        }
+        @Override public MessageType type() { return MessageType.JOIN_GAME; }
     }
 
-    public Map<String, Boolean> getValidations() {
-        return validations;
+    record LeaveGame(String senderPseudo) implements GameMessage {
+        @Override public MessageType type() { return MessageType.LEAVE_GAME; }
     }
 
-    public void setValidations(Map<String, Boolean> validations) {
-        this.validations = validations;
+    /**
+     * answers : réponses indexées par identifiant de catégorie.
+     * namedAnswers : ancien format (nom de catégorie -> mot), encore accepté par le serveur.
+     */
+    record SubmitAnswers(List<String> answers, Map<String, String> namedAnswers,
+                         int correlationId) implements Correlated {
+        public SubmitAnswers(List<String> answers) {
+            this(answers, null, 0);
+        }
+        @Override public MessageType type() { return MessageType.SUBMIT_ANSWERS; }
     }
 
-    public Map<String, Integer> getScores() {
-        return scores;
+    record PlayerReady(String senderPseudo, String sessionCode, int correlationId) implements Correlated {
+        public PlayerReady(String senderPseudo, String sessionCode) {
+            this(senderPseudo, sessionCode, 0);
+        }
+        @Override public MessageType type() { return MessageType.PLAYER_READY; }
     }
 
-    public void setScores(Map<String, Integer> scores) {
-        this.scores = scores;
+    record ChatMessage(String senderPseudo, String message) implements GameMessage {
+        @Override public MessageType type() { return MessageType.CHAT_MESSAGE; }
     }
 
-    public List<String> getCategories() {
-        return categories;
+    /**
+     * Brouillon d'une réponse, envoyé pendant la saisie pour que le serveur la valide à l'avance
+     */
+    record AnswerDraft(int categoryId, String word) implements GameMessage {
+        @Override public MessageType type() { return MessageType.ANSWER_DRAFT; }
     }
 
-    public void setCategories(List<String> categories) {
-        this.categories = categories;
-    }
+    // ==================== Serveur -> Client ====================
 
-    public List<String> getPlayers() {
-        return players;
+    /**
+     * compression, format : algorithme et format acceptés par le serveur pour cette connexion (null sinon)
+     */
+    record GameCreated(String sessionCode, Character gameLetter, List<String> categories,
+                       String compression, String format, int correlationId) implements Correlated {
+        public GameCreated(String sessionCode, Character gameLetter, List<String> categories, String compression) {
+            this(sessionCode, gameLetter, categories, compression, null, 0);
+        }
+        @Override public MessageType type() { return MessageType.GAME_CREATED; }
     }
 
-    public void setPlayers(List<String> players) {
-        this.players = players;
+    record PlayerJoined(String sessionCode, Character gameLetter, List<String> categories,
+                        String senderPseudo, String compression, String format,
+                        int correlationId) implements Correlated {
+        public PlayerJoined(String sessionCode, Character gameLetter, List<String> categories,
+                            String senderPseudo, String compression) {
+            this(sessionCode, gameLetter, categories, senderPseudo, compression, null, 0);
+        }
+        @Override public MessageType type() { return MessageType.PLAYER_JOINED; }
     }
 
-    public String getMessage() {
-        return message;
+    record PlayerLeft(String senderPseudo) implements GameMessage {
+        @Override public MessageType type() { return MessageType.PLAYER_LEFT; }
     }
 
-    public void setMessage(String message) {
-        this.message = message;
+    record GameStart(String sessionCode, Character gameLetter, List<String> categories,
+                     int timeRemaining, int correlationId) implements Correlated {
+        public GameStart(String sessionCode, Character gameLetter, List<String> categories, int timeRemaining) {
+            this(sessionCode, gameLetter, categories, timeRemaining, 0);
+        }
+        @Override public MessageType type() { return MessageType.GAME_START; }
     }
 
-    public int getTimeRemaining() {
-        return timeRemaining;
+    record GameEnd() implements GameMessage {
+        public static final GameEnd INSTANCE = new GameEnd();
+        @Override public MessageType type() { return MessageType.GAME_END; }
     }
 
-    public void setTimeRemaining(int timeRemaining) {
-        this.timeRemaining = timeRemaining;
+    record TimerUpdate(int timeRemaining) implements GameMessage {
+        @Override public MessageType type() { return MessageType.TIMER_UPDATE; }
     }
 
-    public int getScore() {
-        return score;
+    /**
+     * Résultats : scores indexés par identifiant de joueur (-1 pour un emplacement libre).
+     * namedScores, winner : ancien format (pseudo -> score, pseudo du gagnant), scores vaut alors null.
+     */
+    record Results(int[] scores, int winnerId, Map<String, Integer> namedScores, String winner)
+            implements GameMessage {
+        public Results(int[] scores, int winnerId) {
+            this(scores, winnerId, null, null);
+        }
+        public Results(Map<String, Integer> namedScores, String winner) {
+            this(null, -1, namedScores, winner);
+        }
+        @Override public MessageType type() { return MessageType.RESULTS; }
+    }
+
+    record ErrorMessage(String message, int correlationId) implements Correlated {
+        public ErrorMessage(String message) {
+            this(message, 0);
+        }
+        @Override public MessageType type() { return MessageType.ERROR; }
     }
-
-    public void setScore(int score) {
-        this.score = score;
-    }
-
-    public boolean isSuccess() {
-        return success;
+
+    /**
+     * Table des joueurs de la salle : l'index est l'identifiant, null marque un emplacement libre
+     */
+    record PlayerList(List<String> players) implements GameMessage {
+        @Override public MessageType type() { return MessageType.PLAYER_LIST; }
+
+        /**
+         * Pseudos des joueurs présents, dans l'ordre des identifiants
+         */
+        public List<String> names() {
+            return players.stream().filter(Objects::nonNull).toList();
+        }
     }
 
-    public void setSuccess(boolean success) {
-        this.success = success;
+    /**
+     * senderPseudo : ancien format (pseudo du joueur), playerId vaut alors -1
+     */
+    record PlayerFinished(int playerId, String senderPseudo, int correlationId) implements Correlated {
+        public PlayerFinished(int playerId) {
+            this(playerId, null, 0);
+        }
+        public PlayerFinished(int playerId, int correlationId) {
+            this(playerId, null, correlationId);
+        }
+        public PlayerFinished(String senderPseudo) {
+            this(-1, senderPseudo, 0);
+        }
+        @Override public MessageType type() { return MessageType.PLAYER_FINISHED; }
+    }
+
+    // ==================== Bidirectionnel ====================
+
+    /**
+     * clientTime : horloge du client à l'envoi (ms, 0 si absente).
+     * rtt : RTT lissé mesuré par le client, communiqué au serveur (-1 si inconnu).
+     */
+    record Ping(long clientTime, int rtt) implements GameMessage {
+        /** Ping sans horodatage (anciens clients) */
+        public static final Ping INSTANCE = new Ping(0, -1);
+        @Override public MessageType type() { return MessageType.PING; }
+    }
+
+    /**
+     * clientTime : horodatage du PING auquel on répond ; serverTime : horloge du serveur à la réponse
+     */
+    record Pong(long clientTime, long serverTime) implements GameMessage {
+        @Override public MessageType type() { return MessageType.PONG; }
     }
 }
@@ -0,0 +1,504 @@
+package com.bac.network;
+
+import com.bac.network.GameMessage.*;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sérialisation JSON des messages, écrite à la main (sans réflexion).
+ * Les noms de champs sont ceux de l'ancien GameMessage pour rester
+ * compatible avec les clients existants.
+ *
+ * Les messages les plus fréquents (GAME_END, PING sans horodatage, TIMER_UPDATE,
+ * PLAYER_FINISHED) sont encodés une seule fois puis servis depuis un cache ;
+ * les autres réutilisent un encodeur par thread.
+ */
+final class GameMessageAdapter extends TypeAdapter<GameMessage> {
+
+    static final GameMessageAdapter INSTANCE = new GameMessageAdapter();
+
+    private static final int TIMER_CACHE_SIZE = 1024;
+    private static final int PLAYER_CACHE_SIZE = 256;
+
+    // Caches remplis à la demande (une course ne fait qu'encoder deux fois la même trame)
+    private static final String[] CONSTANT_FRAMES = new String[MessageType.values().length];
+    private static final String[] TIMER_FRAMES = new String[TIMER_CACHE_SIZE];
+    private static final String[] FINISHED_FRAMES = new String[PLAYER_CACHE_SIZE];
+
+    private static final ThreadLocal<Encoder> ENCODER = ThreadLocal.withInitial(Encoder::new);
+
+    private GameMessageAdapter() {}
+
+    /**
+     * Encode un message, depuis le cache de trames quand c'est possible
+     */
+    String encode(GameMessage msg) {
+        switch (msg.type()) {
+            case GAME_END, PING -> {
+                // Un PING horodaté n'est pas constant
+                if (msg != GameEnd.INSTANCE && msg != Ping.INSTANCE) {
+                    return encodeFresh(msg);
+                }
+                int index = msg.type().ordinal();
+                String frame = CONSTANT_FRAMES[index];
+                if (frame == null) {
+                    frame = CONSTANT_FRAMES[index] = encodeFresh(msg);
+                }
+                return frame;
+            }
+            case TIMER_UPDATE -> {
+                return cached(TIMER_FRAMES, ((TimerUpdate) msg).timeRemaining(), msg);
+            }
+            case PLAYER_FINISHED -> {
+                // La copie destinée au joueur qui a soumis porte son identifiant de requête
+                PlayerFinished finished = (PlayerFinished) msg;
+                return finished.correlationId() == 0 && finished.senderPseudo() == null
+                    ? cached(FINISHED_FRAMES, finished.playerId(), msg)
+                    : encodeFresh(msg);
+            }
+            default -> {
+                return encodeFresh(msg);
+            }
+        }
+    }
+
+    private String cached(String[] frames, int index, GameMessage msg) {
+        if (index < 0 || index >= frames.length) {
+            return encodeFresh(msg);
+        }
+        String frame = frames[index];
+        if (frame == null) {
+            frame = frames[index] = encodeFresh(msg);
+        }
+        return frame;
+    }
+
+    private String encodeFresh(GameMessage msg) {
+        try {
+            return ENCODER.get().encode(msg);
+        } catch (IOException | RuntimeException e) {
+            // L'état du JsonWriter est incertain après une erreur : repartir d'un encodeur neuf
+            ENCODER.remove();
+            throw new JsonParseException("Impossible d'encoder le message " + msg.type(), e);
+        }
+    }
+
+    GameMessage decode(String json) {
+        try {
+            return fromJson(json);
+        } catch (IOException e) {
+            throw new JsonParseException("Message JSON invalide", e);
+        }
+    }
+
+    /**
+     * Décode une trame lue dans un tampon réutilisable ; les trames constantes
+     * (PING sans horodatage, GAME_END) sont reconnues sans analyse ni allocation
+     */
+    GameMessage decode(char[] chars, int length) {
+        if (matchesConstant(chars, length, Ping.INSTANCE)) return Ping.INSTANCE;
+        if (matchesConstant(chars, length, GameEnd.INSTANCE)) return GameEnd.INSTANCE;
+        return decode(new String(chars, 0, length));
+    }
+
+    private boolean matchesConstant(char[] chars, int length, GameMessage constant) {
+        String frame = encode(constant);
+        if (frame.length() != length) return false;
+        for (int i = 0; i < length; i++) {
+            if (frame.charAt(i) != chars[i]) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void write(JsonWriter out, GameMessage msg) throws IOException {
+        out.beginObject();
+        out.name("type").value(msg.type().name());
+
+        switch (msg.type()) {
+            case JOIN_GAME -> {
+                JoinGame m = (JoinGame) msg;
+                writeString(out, "senderPseudo", m.senderPseudo());
+                writeString(out, "sessionCode", m.sessionCode());
+                writeString(out, "compression", m.compression());
+                writeString(out, "format", m.format());
+            }
+            case LEAVE_GAME -> writeString(out, "senderPseudo", ((LeaveGame) msg).senderPseudo());
+            case SUBMIT_ANSWERS -> {
+                SubmitAnswers m = (SubmitAnswers) msg;
+                if (m.answers() != null) {
+                    writeList(out, "answers", m.answers());
+                } else {
+                    writeStringMap(out, "answers", m.namedAnswers());
+                }
+            }
+            case PLAYER_READY -> {
+                PlayerReady m = (PlayerReady) msg;
+                writeString(out, "senderPseudo", m.senderPseudo());
+                writeString(out, "sessionCode", m.sessionCode());
+            }
+            case CHAT_MESSAGE -> {
+                ChatMessage m = (ChatMessage) msg;
+                writeString(out, "senderPseudo", m.senderPseudo());
+                writeString(out, "message", m.message());
+            }
+            case ANSWER_DRAFT -> {
+                AnswerDraft m = (AnswerDraft) msg;
+                out.name("categoryId").value(m.categoryId());
+                writeString(out, "word", m.word());
+            }
+            case GAME_CREATED -> {
+                GameCreated m = (GameCreated) msg;
+                writeString(out, "sessionCode", m.sessionCode());
+                writeLetter(out, m.gameLetter());
+                writeList(out, "categories", m.categories());
+                writeString(out, "compression", m.compression());
+                writeString(out, "format", m.format());
+                out.name("success").value(true);
+            }
+            case PLAYER_JOINED -> {
+                PlayerJoined m = (PlayerJoined) msg;
+                writeString(out, "senderPseudo", m.senderPseudo());
+                writeString(out, "sessionCode", m.sessionCode());
+                writeLetter(out, m.gameLetter());
+                writeList(out, "categories", m.categories());
+                writeString(out, "compression", m.compression());
+                writeString(out, "format", m.format());
+                out.name("success").value(true);
+            }
+            case PLAYER_LEFT -> writeString(out, "senderPseudo", ((PlayerLeft) msg).senderPseudo());
+            case GAME_START -> {
+                GameStart m = (GameStart) msg;
+                writeString(out, "sessionCode", m.sessionCode());
+                writeLetter(out, m.gameLetter());
+                writeList(out, "categories", m.categories());
+                out.name("timeRemaining").value(m.timeRemaining());
+            }
+            case TIMER_UPDATE -> out.name("timeRemaining").value(((TimerUpdate) msg).timeRemaining());
+            case RESULTS -> {
+                Results m = (Results) msg;
+                if (m.scores() != null) {
+                    writeIntArray(out, "scores", m.scores());
+                    out.name("winner").value(m.winnerId());
+                } else {
+                    writeIntMap(out, "scores", m.namedScores());
+                    writeString(out, "message", m.winner());
+                }
+            }
+            case ERROR -> {
+                writeString(out, "message", ((ErrorMessage) msg).message());
+                out.name("success").value(false);
+            }
+            case PLAYER_LIST -> writeList(out, "players", ((PlayerList) msg).players());
+            case PLAYER_FINISHED -> {
+                PlayerFinished m = (PlayerFinished) msg;
+                if (m.senderPseudo() != null) {
+                    writeString(out, "senderPseudo", m.senderPseudo());
+                } else {
+                    out.name("playerId").value(m.playerId());
+                }
+            }
+            case PING -> {
+                Ping m = (Ping) msg;
+                if (m.clientTime() > 0) {
+                    out.name("clientTime").value(m.clientTime());
+                }
+                if (m.rtt() >= 0) {
+                    out.name("rtt").value(m.rtt());
+                }
+            }
+            case PONG -> {
+                Pong m = (Pong) msg;
+                out.name("clientTime").value(m.clientTime());
+                out.name("serverTime").value(m.serverTime());
+            }
+            case GAME_END -> {
+                // Pas de contenu
+            }
+        }
+        if (msg instanceof Correlated correlated && correlated.correlationId() != 0) {
+            out.name("correlationId").value(correlated.correlationId());
+        }
+        out.endObject();
+    }
+
+    @Override
+    public GameMessage read(JsonReader in) throws IOException {
+        MessageType type = null;
+        String senderPseudo = null;
+        String sessionCode = null;
+        Character gameLetter = null;
+        List<String> answers = null;
+        Map<String, String> namedAnswers = null;
+        int[] scores = null;
+        Map<String, Integer> namedScores = null;
+        int winnerId = -1;
+        int playerId = -1;
+        int categoryId = -1;
+        String word = null;
+        List<String> categories = null;
+        List<String> players = null;
+        String message = null;
+        String compression = null;
+        String format = null;
+        int timeRemaining = 0;
+        long clientTime = 0;
+        long serverTime = 0;
+        int rtt = -1;
+        int correlationId = 0;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "type" -> type = MessageType.valueOf(in.nextString());
+                case "senderPseudo" -> senderPseudo = in.nextString();
+                case "sessionCode" -> sessionCode = in.nextString();
+                case "gameLetter" -> {
+                    String letter = in.nextString();
+                    gameLetter = letter.isEmpty() ? null : letter.charAt(0);
+                }
+                case "answers" -> {
+                    if (in.peek() == JsonToken.BEGIN_OBJECT) {
+                        namedAnswers = readStringMap(in);
+                    } else {
+                        answers = readList(in);
+                    }
+                }
+                case "scores" -> {
+                    // L'ancien format envoie une map pseudo -> score (vide hors RESULTS)
+                    if (in.peek() == JsonToken.BEGIN_ARRAY) {
+                        scores = readIntArray(in);
+                    } else {
+                        namedScores = readIntMap(in);
+                    }
+                }
+                case "winner" -> winnerId = in.nextInt();
+                case "playerId" -> playerId = in.nextInt();
+                case "categoryId" -> categoryId = in.nextInt();
+                case "word" -> word = in.nextString();
+                case "categories" -> categories = readList(in);
+                case "players" -> players = readList(in);
+                case "message" -> message = in.nextString();
+                case "timeRemaining" -> timeRemaining = in.nextInt();
+                case "compression" -> compression = in.nextString();
+                case "format" -> format = in.nextString();
+                case "clientTime" -> clientTime = in.nextLong();
+                case "serverTime" -> serverTime = in.nextLong();
+                case "rtt" -> rtt = in.nextInt();
+                case "correlationId" -> correlationId = in.nextInt();
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+
+        if (type == null) {
+            throw new JsonParseException("Message sans type");
+        }
+
+        return switch (type) {
+            case JOIN_GAME -> new JoinGame(senderPseudo, sessionCode, compression, format, correlationId);
+            case LEAVE_GAME -> new LeaveGame(senderPseudo);
+            case SUBMIT_ANSWERS -> new SubmitAnswers(answers,
+                    answers == null && namedAnswers == null ? Map.of() : namedAnswers, correlationId);
+            case PLAYER_READY -> new PlayerReady(senderPseudo, sessionCode, correlationId);
+            case CHAT_MESSAGE -> new ChatMessage(senderPseudo, message);
+            case ANSWER_DRAFT -> new AnswerDraft(categoryId, word);
+            case GAME_CREATED -> new GameCreated(sessionCode, gameLetter, categories, compression, format,
+                    correlationId);
+            case PLAYER_JOINED -> new PlayerJoined(sessionCode, gameLetter, categories, senderPseudo,
+                    compression, format, correlationId);
+            case PLAYER_LEFT -> new PlayerLeft(senderPseudo);
+            case GAME_START -> new GameStart(sessionCode, gameLetter, categories, timeRemaining, correlationId);
+            case GAME_END -> GameEnd.INSTANCE;
+            case TIMER_UPDATE -> new TimerUpdate(timeRemaining);
+            case RESULTS -> scores == null && namedScores != null
+                    ? new Results(namedScores, message)
+                    : new Results(scores != null ? scores : new int[0], winnerId);
+            case ERROR -> new ErrorMessage(message, correlationId);
+            case PLAYER_LIST -> new PlayerList(players != null ? players : List.of());
+            case PLAYER_FINISHED -> new PlayerFinished(playerId, playerId < 0 ? senderPseudo : null, correlationId);
+            case PING -> clientTime == 0 && rtt < 0 ? Ping.INSTANCE : new Ping(clientTime, rtt);
+            case PONG -> new Pong(clientTime, serverTime);
+        };
+    }
+
+    // ==================== Écriture ====================
+
+    private static void writeString(JsonWriter out, String name, String value) throws IOException {
+        if (value != null) {
+            out.name(name).value(value);
+        }
+    }
+
+    private static void writeLetter(JsonWriter out, Character letter) throws IOException {
+        if (letter != null) {
+            out.name("gameLetter").value(String.valueOf(letter));
+        }
+    }
+
+    private static void writeList(JsonWriter out, String name, List<String> values) throws IOException {
+        if (values == null) return;
+        out.name(name).beginArray();
+        for (String value : values) {
+            out.value(value);
+        }
+        out.endArray();
+    }
+
+    private static void writeStringMap(JsonWriter out, String name, Map<String, String> values) throws IOException {
+        if (values == null) return;
+        out.name(name).beginObject();
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            out.name(entry.getKey()).value(entry.getValue());
+        }
+        out.endObject();
+    }
+
+    private static void writeIntMap(JsonWriter out, String name, Map<String, Integer> values) throws IOException {
+        if (values == null) return;
+        out.name(name).beginObject();
+        for (Map.Entry<String, Integer> entry : values.entrySet()) {
+            out.name(entry.getKey()).value(entry.getValue());
+        }
+        out.endObject();
+    }
+
+    private static void writeIntArray(JsonWriter out, String name, int[] values) throws IOException {
+        if (values == null) return;
+        out.name(name).beginArray();
+        for (int value : values) {
+            out.value(value);
+        }
+        out.endArray();
+    }
+
+    // ==================== Lecture ====================
+
+    private static List<String> readList(JsonReader in) throws IOException {
+        List<String> values = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                values.add(null);
+            } else {
+                values.add(in.nextString());
+            }
+        }
+        in.endArray();
+        return values;
+    }
+
+    private static Map<String, String> readStringMap(JsonReader in) throws IOException {
+        Map<String, String> values = new HashMap<>();
+        in.beginObject();
+        while (in.hasNext()) {
+            String key = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                values.put(key, null);
+            } else {
+                values.put(key, in.nextString());
+            }
+        }
+        in.endObject();
+        return values;
+    }
+
+    private static Map<String, Integer> readIntMap(JsonReader in) throws IOException {
+        Map<String, Integer> values = new HashMap<>();
+        in.beginObject();
+        while (in.hasNext()) {
+            values.put(in.nextName(), in.nextInt());
+        }
+        in.endObject();
+        return values;
+    }
+
+    private static int[] readIntArray(JsonReader in) throws IOException {
+        int[] values = new int[8];
+        int size = 0;
+        in.beginArray();
+        while (in.hasNext()) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = in.nextInt();
+        }
+        in.endArray();
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Encodeur réutilisable : un JsonWriter permissif (plusieurs valeurs de premier
+     * niveau autorisées) écrivant dans un tampon vidé avant chaque message
+     */
+    private static final class Encoder {
+        private final StringBuilderWriter buffer = new StringBuilderWriter();
+        private final JsonWriter writer;
+
+        Encoder() {
+            this.writer = new JsonWriter(buffer);
+            this.writer.setLenient(true);
+        }
+
+        String encode(GameMessage msg) throws IOException {
+            buffer.reset();
+            INSTANCE.write(writer, msg);
+            writer.flush();
+            return buffer.toString();
+        }
+    }
+
+    private static final class StringBuilderWriter extends Writer {
+        private final StringBuilder builder = new StringBuilder(256);
+
+        void reset() {
+            builder.setLength(0);
+        }
+
+        @Override
+        public void write(int c) {
+            builder.append((char) c);
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) {
+            builder.append(chars, offset, length);
+        }
+
+        @Override
+        public void write(String str, int offset, int length) {
+            builder.append(str, offset, offset + length);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String toString() {
+            return builder.toString();
+        }
+    }
+}
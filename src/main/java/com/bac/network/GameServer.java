@@ -1,9 +1,11 @@
 package com.bac.network;
 
 import com.bac.model.entity.Category;
+import com.bac.service.ApiService;
 import com.bac.service.ConfigService;
 import com.bac.service.GameService;
 import com.bac.service.ValidationService;
+import com.bac.service.WordNormalizer;
 
 import java.io.*;
 import java.net.*;
@@ -57,6 +59,7 @@ public class GameServer {
                 while (running) {
                     try {
                         Socket clientSocket = serverSocket.accept();
+                        clientSocket.setTcpNoDelay(ConfigService.getInstance().isTcpNoDelay());
                         System.out.println("Nouveau client connecté: " + clientSocket.getInetAddress());
                         ClientHandler handler = new ClientHandler(clientSocket);
                         threadPool.submit(handler);
@@ -140,69 +143,146 @@ public class GameServer {
     
     /**
      * Salle de jeu - gère une partie multijoueur
+     * Joueurs et catégories sont désignés par leur identifiant (index dans les tables
+     * de symboles envoyées aux clients) ; réponses et scores sont stockés dans des
+     * tableaux denses indexés par ces identifiants.
      */
     public static class GameRoom {
+        private static final int INITIAL_CAPACITY = 8;
+        
+        // Pré-validation des brouillons en arrière-plan, partagée par toutes les salles
+        private static final ExecutorService DRAFT_VALIDATOR = createDraftValidator();
+        // Marge ajoutée au RTT pour le délai de grâce (traitement côté client)
+        private static final long DEADLINE_MARGIN_MS = 100;
+        
+        /**
+         * Brouillon d'une réponse et sa validation spéculative
+         */
+        private record Draft(String word, CompletableFuture<ValidationService.ValidationResult> verdict) {}
+        
         private final String sessionCode;
         private final String hostPseudo;
-        private final Map<String, ClientHandler> players;
-        private final Map<String, Map<String, String>> playerAnswers;
-        private final Map<String, Integer> playerScores;
-        private final Set<String> playersFinished;
-        private List<String> categories;
+        private final List<String> categories;
         private Character gameLetter;
-        private boolean gameStarted;
-        private boolean gameEnded;
+        
+        // Tables indexées par identifiant de joueur, protégées par le verrou de la salle.
+        // handlers est recopié à chaque modification pour que broadcast() lise sans verrou.
+        private volatile ClientHandler[] handlers;
+        private String[] pseudos;
+        private String[][] answers;
+        private int[] scores;
+        private boolean[] finished;
+        private Draft[][] drafts;
+        private int playerCount;
+        private int finishedCount;
+        
+        private volatile boolean gameStarted;
+        private volatile boolean gameEnded;
         private int timeLimit;
         private ScheduledExecutorService timer;
         
         public GameRoom(String sessionCode, String hostPseudo) {
             this.sessionCode = sessionCode;
             this.hostPseudo = hostPseudo;
-            this.players = new ConcurrentHashMap<>();
-            this.playerAnswers = new ConcurrentHashMap<>();
-            this.playerScores = new ConcurrentHashMap<>();
-            this.playersFinished = ConcurrentHashMap.newKeySet();
+            this.handlers = new ClientHandler[INITIAL_CAPACITY];
+            this.pseudos = new String[INITIAL_CAPACITY];
+            this.answers = new String[INITIAL_CAPACITY][];
+            this.scores = new int[INITIAL_CAPACITY];
+            this.finished = new boolean[INITIAL_CAPACITY];
+            this.drafts = new Draft[INITIAL_CAPACITY][];
             this.gameStarted = false;
             this.gameEnded = false;
             this.timeLimit = ConfigService.getInstance().getGameTimerSeconds();
             
             // Initialiser les catégories et la lettre
             List<Category> cats = GameService.getInstance().getActiveCategories();
-            this.categories = cats.stream().map(Category::getName).collect(Collectors.toList());
+            this.categories = cats.stream().map(Category::getName).collect(Collectors.toUnmodifiableList());
             this.gameLetter = GameService.getInstance().generateRandomLetter();
         }
         
-        public void addPlayer(String pseudo, ClientHandler handler) {
-            players.put(pseudo, handler);
-            playerScores.put(pseudo, 0);
+        /**
+         * Ajoute un joueur et retourne son identifiant dans la salle, ou -1 si la partie a commencé
+         */
+        public int addPlayer(String pseudo, ClientHandler handler) {
+            int playerId;
+            synchronized (this) {
+                if (gameStarted) return -1;
+                playerId = freeSlot();
+                ClientHandler[] updated = handlers.clone();
+                updated[playerId] = handler;
+                handlers = updated;
+                pseudos[playerId] = pseudo;
+                answers[playerId] = null;
+                scores[playerId] = 0;
+                finished[playerId] = false;
+                drafts[playerId] = null;
+                playerCount++;
+            }
             broadcastPlayerList();
+            return playerId;
         }
         
-        public void removePlayer(String pseudo) {
-            players.remove(pseudo);
-            playerAnswers.remove(pseudo);
-            playerScores.remove(pseudo);
-            playersFinished.remove(pseudo);
+        public void removePlayer(int playerId) {
+            boolean empty;
+            synchronized (this) {
+                if (playerId < 0 || pseudos[playerId] == null) return;
+                ClientHandler[] updated = handlers.clone();
+                updated[playerId] = null;
+                handlers = updated;
+                if (finished[playerId]) {
+                    finishedCount--;
+                }
+                pseudos[playerId] = null;
+                answers[playerId] = null;
+                scores[playerId] = 0;
+                finished[playerId] = false;
+                drafts[playerId] = null;
+                playerCount--;
+                empty = playerCount == 0;
+            }
             
-            if (players.isEmpty()) {
+            if (empty) {
                 GameServer.getInstance().removeRoom(sessionCode);
             } else {
                 broadcastPlayerList();
             }
         }
         
-        public void startGame() {
-            if (gameStarted) return;
-            
-            gameStarted = true;
+        /**
+         * Premier emplacement libre ; les tables sont agrandies si nécessaire.
+         * Un emplacement n'est réutilisé qu'avant le début de la partie (addPlayer refuse toute arrivée ensuite).
+         */
+        private int freeSlot() {
+            for (int i = 0; i < pseudos.length; i++) {
+                if (pseudos[i] == null) return i;
+            }
+            int playerId = pseudos.length;
+            int capacity = playerId * 2;
+            handlers = Arrays.copyOf(handlers, capacity);
+            pseudos = Arrays.copyOf(pseudos, capacity);
+            answers = Arrays.copyOf(answers, capacity);
+            scores = Arrays.copyOf(scores, capacity);
+            finished = Arrays.copyOf(finished, capacity);
+            drafts = Arrays.copyOf(drafts, capacity);
+            return playerId;
+        }
+        
+        /**
+         * Démarre la partie ; requester reçoit une copie du GAME_START portant son identifiant de requête
+         */
+        public boolean startGame(ClientHandler requester, int correlationId) {
+            synchronized (this) {
+                if (gameStarted) return false;
+                gameStarted = true;
+            }
             
             // Envoyer le message de démarrage à tous les joueurs
-            GameMessage startMsg = GameMessage.createStartMessage(
-                sessionCode, gameLetter, categories, timeLimit);
-            broadcast(startMsg);
+            broadcast(new GameMessage.GameStart(sessionCode, gameLetter, categories, timeLimit),
+                requester, new GameMessage.GameStart(sessionCode, gameLetter, categories, timeLimit, correlationId));
             
             // Démarrer le timer
             startTimer();
+            return true;
         }
         
         private void startTimer() {
@@ -210,72 +290,246 @@ public class GameServer {
             final int[] remaining = {timeLimit};
             
             timer.scheduleAtFixedRate(() -> {
+                // Délai de grâce en cours
+                if (remaining[0] <= 0) return;
                 remaining[0]--;
                 
                 // Envoyer mise à jour du timer toutes les 10 secondes
                 if (remaining[0] % 10 == 0 || remaining[0] <= 10) {
-                    broadcast(GameMessage.createTimerMessage(remaining[0]));
+                    broadcast(new GameMessage.TimerUpdate(remaining[0]));
                 }
                 
                 if (remaining[0] <= 0) {
-                    endGame();
+                    long grace = deadlineGraceMillis();
+                    if (grace > 0) {
+                        System.out.println("Temps écoulé, délai de grâce de " + grace + " ms");
+                        timer.schedule(this::endGame, grace, TimeUnit.MILLISECONDS);
+                    } else {
+                        endGame();
+                    }
                 }
             }, 1, 1, TimeUnit.SECONDS);
         }
         
-        public void submitAnswers(String pseudo, Map<String, String> answers) {
-            playerAnswers.put(pseudo, answers);
-            playersFinished.add(pseudo);
+        /**
+         * Délai de grâce laissé aux joueurs qui n'ont pas terminé : leurs réponses envoyées
+         * à la fin du chrono arrivent environ un RTT plus tard (plafonné par la configuration)
+         */
+        private long deadlineGraceMillis() {
+            long maxRtt = -1;
+            synchronized (this) {
+                for (int i = 0; i < pseudos.length; i++) {
+                    if (pseudos[i] == null || finished[i]) continue;
+                    ClientHandler handler = handlers[i];
+                    maxRtt = Math.max(maxRtt, handler != null ? handler.getReportedRtt() : 0);
+                }
+            }
+            if (maxRtt < 0) return 0;
+            return Math.min(maxRtt + DEADLINE_MARGIN_MS, ConfigService.getInstance().getDeadlineGraceMaxMs());
+        }
+        
+        /**
+         * Latence communiquée par chaque joueur, pour les journaux de fin de partie
+         */
+        private String describeLatencies() {
+            StringBuilder description = new StringBuilder();
+            ClientHandler[] current = handlers;
+            synchronized (this) {
+                for (int i = 0; i < pseudos.length; i++) {
+                    if (pseudos[i] == null) continue;
+                    int rtt = current[i] != null ? current[i].getReportedRtt() : -1;
+                    if (description.length() > 0) description.append(", ");
+                    description.append(pseudos[i]).append('=').append(rtt >= 0 ? rtt + " ms" : "?");
+                }
+            }
+            return description.toString();
+        }
+        
+        /**
+         * Convertit des réponses de l'ancien format (nom de catégorie -> mot)
+         * en réponses indexées par identifiant de catégorie
+         */
+        public List<String> toIndexedAnswers(Map<String, String> namedAnswers) {
+            List<String> indexed = new ArrayList<>(categories.size());
+            for (String category : categories) {
+                indexed.add(namedAnswers.get(category));
+            }
+            return indexed;
+        }
+        
+        /**
+         * Enregistre le brouillon d'une réponse et lance sa validation en arrière-plan,
+         * pour que le verdict soit déjà connu au moment de la soumission
+         */
+        public void draftAnswer(int playerId, int categoryId, String word) {
+            if (word == null || word.isBlank() || categoryId < 0 || categoryId >= categories.size()) return;
+            String draftWord = word.trim();
             
-            // Calculer le score
-            int score = calculateScore(answers);
-            playerScores.put(pseudo, score);
+            synchronized (this) {
+                if (!gameStarted || gameEnded || playerId < 0
+                        || pseudos[playerId] == null || finished[playerId]) return;
+                if (drafts[playerId] == null) {
+                    drafts[playerId] = new Draft[categories.size()];
+                }
+                Draft current = drafts[playerId][categoryId];
+                if (current != null && WordNormalizer.sameWord(current.word(), draftWord)) return;
+                
+                try {
+                    CompletableFuture<ValidationService.ValidationResult> verdict = CompletableFuture.supplyAsync(
+                        () -> ValidationService.getInstance().validateDraft(draftWord, categories.get(categoryId), gameLetter),
+                        DRAFT_VALIDATOR);
+                    drafts[playerId][categoryId] = new Draft(draftWord, verdict);
+                } catch (RejectedExecutionException e) {
+                    // File pleine : la réponse sera simplement validée à la soumission
+                }
+            }
+        }
+        
+        public void submitAnswers(int playerId, List<String> submitted, ClientHandler requester, int correlationId) {
+            String[] playerAnswers = new String[categories.size()];
+            for (int i = 0; i < playerAnswers.length && i < submitted.size(); i++) {
+                playerAnswers[i] = submitted.get(i);
+            }
             
-            // Notifier les autres joueurs
-            GameMessage finishedMsg = new GameMessage(GameMessage.MessageType.PLAYER_FINISHED);
-            finishedMsg.setSenderPseudo(pseudo);
-            broadcast(finishedMsg);
+            Draft[] playerDrafts;
+            synchronized (this) {
+                playerDrafts = playerId >= 0 ? drafts[playerId] : null;
+            }
+            
+            // Calculer le score (hors verrou : la validation peut appeler le réseau)
+            int score = calculateScore(playerAnswers, playerDrafts);
+            
+            boolean allFinished;
+            String pseudo;
+            synchronized (this) {
+                if (playerId < 0 || pseudos[playerId] == null) return;
+                pseudo = pseudos[playerId];
+                answers[playerId] = playerAnswers;
+                scores[playerId] = score;
+                if (!finished[playerId]) {
+                    finished[playerId] = true;
+                    finishedCount++;
+                }
+                allFinished = finishedCount >= playerCount;
+            }
+            
+            // Notifier les autres joueurs ; l'auteur reçoit l'accusé de sa requête
+            broadcast(new GameMessage.PlayerFinished(playerId), new GameMessage.PlayerFinished(pseudo),
+                requester, new GameMessage.PlayerFinished(playerId, correlationId));
             
             // Si tous les joueurs ont terminé, fin de partie
-            if (playersFinished.size() >= players.size()) {
+            if (allFinished) {
                 endGame();
             }
         }
         
-        private int calculateScore(Map<String, String> answers) {
-            int score = 0;
+        private int calculateScore(String[] playerAnswers, Draft[] playerDrafts) {
+            int prevalidated = 0;
             ValidationService validationService = ValidationService.getInstance();
             
-            for (Map.Entry<String, String> entry : answers.entrySet()) {
-                String word = entry.getValue();
-                if (word != null && !word.trim().isEmpty()) {
-                    ValidationService.ValidationResult result = 
-                        validationService.validateWord(word, entry.getKey(), gameLetter);
+            // Lancer toutes les validations en parallèle, puis les attendre :
+            // brouillons déjà validés d'un côté, autres mots en un seul lot de l'autre
+            List<CompletableFuture<ValidationService.ValidationResult>> drafted = new ArrayList<>();
+            Map<String, String> toValidate = new HashMap<>();
+            for (int categoryId = 0; categoryId < playerAnswers.length; categoryId++) {
+                String word = playerAnswers[categoryId];
+                if (word == null || word.trim().isEmpty()) continue;
+                
+                String category = categories.get(categoryId);
+                // Réutiliser la validation spéculative si le brouillon correspond au mot final
+                Draft draft = playerDrafts != null ? playerDrafts[categoryId] : null;
+                if (draft != null && WordNormalizer.sameWord(draft.word(), word)) {
+                    prevalidated++;
+                    // Brouillon non vérifié (fournisseur indisponible, débit épuisé) : revalidé
+                    drafted.add(draft.verdict()
+                        .exceptionally(e -> {
+                            System.err.println("Pré-validation échouée: " + e.getMessage());
+                            return null;
+                        })
+                        .thenCompose(result -> result != null && result.isVerified()
+                            ? CompletableFuture.completedFuture(result)
+                            : validationService.validateWordAsync(word, category, gameLetter)));
+                } else {
+                    toValidate.put(category, word);
+                }
+            }
+            
+            int score = 0;
+            try {
+                for (ValidationService.ValidationResult result
+                        : validationService.validateAll(toValidate, gameLetter).join().values()) {
                     if (result.isValid()) {
                         score += 10;
                     }
                 }
+            } catch (CompletionException e) {
+                System.err.println("Validation échouée: " + e.getMessage());
             }
+            for (CompletableFuture<ValidationService.ValidationResult> verdict : drafted) {
+                try {
+                    if (verdict.join().isValid()) {
+                        score += 10;
+                    }
+                } catch (CompletionException | CancellationException e) {
+                    System.err.println("Validation échouée: " + e.getMessage());
+                }
+            }
+            
+            if (prevalidated > 0) {
+                System.out.println("Réponses pré-validées: " + prevalidated + "/" + playerAnswers.length);
+            }
+            System.out.println("Cache de validation: " + validationService.getCache()
+                + ", requêtes fusionnées " + ApiService.getInstance().getCoalescedRequests());
             return score;
         }
         
+        private static ExecutorService createDraftValidator() {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                4, 4, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(256), r -> {
+                    Thread thread = new Thread(r, "draft-validator");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+        
         public void endGame() {
-            if (gameEnded) return;
-            gameEnded = true;
-            
-            if (timer != null) {
-                timer.shutdown();
+            int[] finalScores;
+            int winnerId = -1;
+            Map<String, Integer> namedScores = new HashMap<>();
+            String winner = null;
+            synchronized (this) {
+                if (gameEnded) return;
+                gameEnded = true;
+                
+                if (timer != null) {
+                    timer.shutdown();
+                }
+                
+                // Déterminer le gagnant (-1 marque un emplacement libre)
+                finalScores = new int[lastOccupiedSlot() + 1];
+                for (int i = 0; i < finalScores.length; i++) {
+                    if (pseudos[i] == null) {
+                        finalScores[i] = -1;
+                    } else {
+                        finalScores[i] = scores[i];
+                        namedScores.put(pseudos[i], scores[i]);
+                        if (winnerId < 0 || scores[i] > scores[winnerId]) {
+                            winnerId = i;
+                        }
+                    }
+                }
+                if (winnerId >= 0) {
+                    winner = pseudos[winnerId];
+                }
             }
             
-            // Déterminer le gagnant
-            String winner = playerScores.entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
-                .orElse("");
+            System.out.println("Latence des joueurs (" + sessionCode + "): " + describeLatencies());
             
             // Envoyer les résultats
-            GameMessage resultsMsg = GameMessage.createResultsMessage(playerScores, winner);
-            broadcast(resultsMsg);
+            broadcast(new GameMessage.Results(finalScores, winnerId), new GameMessage.Results(namedScores, winner),
+                null, null);
             
             // Nettoyer après un délai
             Executors.newSingleThreadScheduledExecutor().schedule(() -> {
@@ -283,17 +537,78 @@ public class GameServer {
             }, 30, TimeUnit.SECONDS);
         }
         
+        private int lastOccupiedSlot() {
+            int last = pseudos.length - 1;
+            while (last >= 0 && pseudos[last] == null) {
+                last--;
+            }
+            return last;
+        }
+        
         public void broadcast(GameMessage message) {
-            String json = message.toJson();
-            for (ClientHandler handler : players.values()) {
-                handler.send(json);
+            broadcast(message, message, null, null);
+        }
+        
+        public void broadcast(GameMessage message, ClientHandler requester, GameMessage personal) {
+            broadcast(message, message, requester, personal);
+        }
+        
+        /**
+         * Diffuse un message : legacy est envoyé aux clients qui n'ont pas proposé le format indexé.
+         * requester reçoit à la place la copie personnalisée (réponse corrélée) ; un ancien client
+         * n'envoie pas d'identifiant de requête et reçoit legacy.
+         */
+        public void broadcast(GameMessage message, GameMessage legacy, ClientHandler requester, GameMessage personal) {
+            Frame indexed = new Frame(message);
+            Frame named = legacy == message ? indexed : new Frame(legacy);
+            for (ClientHandler handler : handlers) {
+                if (handler == null) continue;
+                if (!handler.isIndexedFormat()) {
+                    handler.sendFrame(named.get(handler.isCompressionEnabled()));
+                } else if (handler == requester && personal != null) {
+                    handler.send(personal);
+                } else {
+                    handler.sendFrame(indexed.get(handler.isCompressionEnabled()));
+                }
             }
         }
         
+        /**
+         * Diffuse la table des joueurs : l'index est l'identifiant, null un emplacement libre
+         * (les anciens clients reçoivent les seuls pseudos présents)
+         */
         public void broadcastPlayerList() {
-            List<String> playerList = new ArrayList<>(players.keySet());
-            GameMessage msg = GameMessage.createPlayerListMessage(playerList);
-            broadcast(msg);
+            List<String> playerTable;
+            synchronized (this) {
+                playerTable = Arrays.asList(Arrays.copyOf(pseudos, lastOccupiedSlot() + 1));
+            }
+            GameMessage.PlayerList list = new GameMessage.PlayerList(playerTable);
+            broadcast(list, new GameMessage.PlayerList(list.names()), null, null);
+        }
+        
+        /**
+         * Trame d'un message diffusé, encodée une seule fois ; le dictionnaire étant fixe,
+         * la trame compressée est identique pour tous
+         */
+        private static final class Frame {
+            private final GameMessage message;
+            private String json;
+            private String compressed;
+            
+            Frame(GameMessage message) {
+                this.message = message;
+            }
+            
+            String get(boolean compression) {
+                if (json == null) {
+                    json = message.toJson();
+                }
+                if (!compression) return json;
+                if (compressed == null) {
+                    compressed = FrameCompressor.encode(json);
+                }
+                return compressed;
+            }
         }
         
         // Getters
@@ -302,8 +617,7 @@ public class GameServer {
         public List<String> getCategories() { return categories; }
         public Character getGameLetter() { return gameLetter; }
         public boolean isGameStarted() { return gameStarted; }
-        public int getPlayerCount() { return players.size(); }
-        public Set<String> getPlayerNames() { return players.keySet(); }
+        public synchronized int getPlayerCount() { return playerCount; }
     }
     
     /**
@@ -311,11 +625,17 @@ public class GameServer {
      */
     private class ClientHandler implements Runnable {
         private final Socket socket;
-        private BufferedReader in;
-        private PrintWriter out;
+        private FrameReader in;
+        private FrameWriter out;
         private String pseudo;
         private String currentRoomCode;
+        private int playerId = -1;
         private volatile boolean connected;
+        private volatile boolean compressionEnabled;
+        // Le client a proposé le format indexé (GameMessage.INDEXED) ; sinon ancien format par noms
+        private volatile boolean indexedFormat;
+        // RTT lissé communiqué par le client dans ses PING (-1 si inconnu)
+        private volatile int reportedRtt = -1;
         
         public ClientHandler(Socket socket) {
             this.socket = socket;
@@ -325,12 +645,15 @@ public class GameServer {
         @Override
         public void run() {
             try {
-                in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-                out = new PrintWriter(socket.getOutputStream(), true);
+                in = new FrameReader(socket.getInputStream());
+                out = new FrameWriter(socket.getOutputStream());
                 
-                String line;
-                while (connected && (line = in.readLine()) != null) {
-                    processMessage(line);
+                while (connected && in.next()) {
+                    processMessage();
+                    // Fin d'itération : vider les réponses si aucune autre trame n'attend
+                    if (!in.hasBufferedInput()) {
+                        out.flush();
+                    }
                 }
             } catch (IOException e) {
                 System.err.println("Erreur de communication: " + e.getMessage());
@@ -339,105 +662,160 @@ public class GameServer {
             }
         }
         
-        private void processMessage(String json) {
+        private void processMessage() {
+            int correlationId = 0;
             try {
-                GameMessage msg = GameMessage.fromJson(json);
+                GameMessage msg = in.message();
+                if (msg instanceof GameMessage.Correlated correlated) {
+                    correlationId = correlated.correlationId();
+                }
                 
-                switch (msg.getType()) {
-                    case JOIN_GAME -> handleJoinGame(msg);
+                switch (msg.type()) {
+                    case JOIN_GAME -> handleJoinGame((GameMessage.JoinGame) msg);
                     case LEAVE_GAME -> handleLeaveGame();
-                    case SUBMIT_ANSWERS -> handleSubmitAnswers(msg);
-                    case PLAYER_READY -> handlePlayerReady(msg);
-                    case PING -> send(new GameMessage(GameMessage.MessageType.PONG).toJson());
-                    default -> System.out.println("Message non géré: " + msg.getType());
+                    case SUBMIT_ANSWERS -> handleSubmitAnswers((GameMessage.SubmitAnswers) msg);
+                    case PLAYER_READY -> handlePlayerReady((GameMessage.PlayerReady) msg);
+                    case ANSWER_DRAFT -> handleAnswerDraft((GameMessage.AnswerDraft) msg);
+                    case PING -> handlePing((GameMessage.Ping) msg);
+                    default -> System.out.println("Message non géré: " + msg.type());
                 }
             } catch (Exception e) {
                 System.err.println("Erreur de traitement du message: " + e.getMessage());
-                send(GameMessage.createErrorMessage("Erreur de traitement: " + e.getMessage()).toJson());
+                send(new GameMessage.ErrorMessage("Erreur de traitement: " + e.getMessage(), correlationId));
             }
         }
         
-        private void handleJoinGame(GameMessage msg) {
-            this.pseudo = msg.getSenderPseudo();
-            String roomCode = msg.getSessionCode();
+        private void handleJoinGame(GameMessage.JoinGame msg) {
+            this.pseudo = msg.senderPseudo();
+            String roomCode = msg.sessionCode();
+            
+            // Négociation de la compression : uniquement si le client la propose
+            this.compressionEnabled = FrameCompressor.isEnabled()
+                && FrameCompressor.DEFLATE.equals(msg.compression());
+            String compression = compressionEnabled ? FrameCompressor.DEFLATE : null;
+            this.indexedFormat = GameMessage.INDEXED.equals(msg.format());
+            String format = indexedFormat ? GameMessage.INDEXED : null;
             
             if (roomCode == null || roomCode.isEmpty()) {
                 // Créer une nouvelle salle
                 GameRoom room = createRoom(pseudo);
                 this.currentRoomCode = room.getSessionCode();
-                room.addPlayer(pseudo, this);
+                this.playerId = room.addPlayer(pseudo, this);
                 
-                GameMessage response = GameMessage.createGameCreatedMessage(
-                    room.getSessionCode(), room.getGameLetter(), room.getCategories());
-                send(response.toJson());
+                send(new GameMessage.GameCreated(
+                    room.getSessionCode(), room.getGameLetter(), room.getCategories(), compression, format,
+                    msg.correlationId()));
             } else {
                 // Rejoindre une salle existante
                 GameRoom room = getRoom(roomCode);
                 if (room == null) {
-                    send(GameMessage.createErrorMessage("Salle non trouvée: " + roomCode).toJson());
+                    send(new GameMessage.ErrorMessage("Salle non trouvée: " + roomCode, msg.correlationId()));
                     return;
                 }
-                if (room.isGameStarted()) {
-                    send(GameMessage.createErrorMessage("La partie a déjà commencé").toJson());
+                // addPlayer refuse aussi une arrivée concurrente du démarrage
+                int newPlayerId = room.addPlayer(pseudo, this);
+                if (newPlayerId < 0) {
+                    send(new GameMessage.ErrorMessage("La partie a déjà commencé", msg.correlationId()));
                     return;
                 }
                 
                 this.currentRoomCode = roomCode;
-                room.addPlayer(pseudo, this);
+                this.playerId = newPlayerId;
                 
-                GameMessage response = new GameMessage(GameMessage.MessageType.PLAYER_JOINED);
-                response.setSessionCode(roomCode);
-                response.setGameLetter(room.getGameLetter());
-                response.setCategories(room.getCategories());
-                response.setSenderPseudo(pseudo);
-                response.setSuccess(true);
-                send(response.toJson());
+                send(new GameMessage.PlayerJoined(
+                    roomCode, room.getGameLetter(), room.getCategories(), pseudo, compression, format,
+                    msg.correlationId()));
             }
         }
         
+        /**
+         * Répond immédiatement avec l'horloge du serveur et retient la latence mesurée par le client
+         */
+        private void handlePing(GameMessage.Ping msg) {
+            if (msg.rtt() >= 0) {
+                reportedRtt = msg.rtt();
+            }
+            send(new GameMessage.Pong(msg.clientTime(), System.currentTimeMillis()));
+        }
+        
         private void handleLeaveGame() {
             if (currentRoomCode != null) {
                 GameRoom room = getRoom(currentRoomCode);
                 if (room != null) {
-                    room.removePlayer(pseudo);
+                    room.removePlayer(playerId);
                     
-                    GameMessage leftMsg = new GameMessage(GameMessage.MessageType.PLAYER_LEFT);
-                    leftMsg.setSenderPseudo(pseudo);
-                    room.broadcast(leftMsg);
+                    room.broadcast(new GameMessage.PlayerLeft(pseudo));
                 }
             }
             currentRoomCode = null;
+            playerId = -1;
+        }
+        
+        private void handleSubmitAnswers(GameMessage.SubmitAnswers msg) {
+            if (currentRoomCode != null) {
+                GameRoom room = getRoom(currentRoomCode);
+                if (room != null) {
+                    List<String> answers = msg.answers() != null
+                        ? msg.answers()
+                        : room.toIndexedAnswers(msg.namedAnswers());
+                    room.submitAnswers(playerId, answers, this, msg.correlationId());
+                    return;
+                }
+            }
+            send(new GameMessage.ErrorMessage("Aucune partie en cours", msg.correlationId()));
         }
         
-        private void handleSubmitAnswers(GameMessage msg) {
+        private void handleAnswerDraft(GameMessage.AnswerDraft msg) {
             if (currentRoomCode != null) {
                 GameRoom room = getRoom(currentRoomCode);
                 if (room != null) {
-                    room.submitAnswers(pseudo, msg.getAnswers());
+                    room.draftAnswer(playerId, msg.categoryId(), msg.word());
                 }
             }
         }
         
-        private void handlePlayerReady(GameMessage msg) {
+        private void handlePlayerReady(GameMessage.PlayerReady msg) {
             if (currentRoomCode != null) {
                 GameRoom room = getRoom(currentRoomCode);
                 if (room != null && room.getHostPseudo().equals(pseudo)) {
                     // Seul l'hôte peut démarrer
-                    if (room.getPlayerCount() >= 2) {
-                        room.startGame();
-                    } else {
-                        send(GameMessage.createErrorMessage("Il faut au moins 2 joueurs").toJson());
+                    if (room.getPlayerCount() < 2) {
+                        send(new GameMessage.ErrorMessage("Il faut au moins 2 joueurs", msg.correlationId()));
+                    } else if (!room.startGame(this, msg.correlationId())) {
+                        send(new GameMessage.ErrorMessage("La partie a déjà commencé", msg.correlationId()));
                     }
+                    return;
                 }
             }
+            send(new GameMessage.ErrorMessage("Seul l'hôte peut démarrer la partie", msg.correlationId()));
+        }
+        
+        public void send(GameMessage message) {
+            send(message.toJson());
+        }
+        
+        public void send(String json) {
+            sendFrame(compressionEnabled ? FrameCompressor.encode(json) : json);
         }
         
-        public void send(String message) {
+        public void sendFrame(String frame) {
             if (out != null && connected) {
-                out.println(message);
+                out.write(frame);
             }
         }
         
+        public boolean isCompressionEnabled() {
+            return compressionEnabled;
+        }
+        
+        public boolean isIndexedFormat() {
+            return indexedFormat;
+        }
+        
+        public int getReportedRtt() {
+            return reportedRtt;
+        }
+        
         private void disconnect() {
             connected = false;
             handleLeaveGame();
@@ -0,0 +1,94 @@
+package com.bac.network;
+
+/**
+ * Estimation de la latence et du décalage d'horloge avec le serveur à partir des échanges PING/PONG.
+ * Le RTT est lissé comme dans TCP (RFC 6298). Le décalage est calculé façon NTP et retenu
+ * sur l'échantillon de plus petit RTT parmi les derniers reçus, le moins perturbé par les files d'attente.
+ */
+final class LatencyEstimator {
+
+    private static final int WINDOW = 8;
+
+    private final long[] windowRtt = new long[WINDOW];
+    private final long[] windowOffset = new long[WINDOW];
+    private int windowCount;
+    private int windowNext;
+    private boolean warmedUp;
+
+    private double smoothedRtt = -1;
+    private double rttVariance;
+
+    private volatile int smoothedRttMillis = -1;
+    private volatile int jitterMillis = -1;
+    private volatile long clockOffsetMillis;
+
+    /**
+     * Ajoute un échantillon : envoi du PING, horloge du serveur à la réponse, réception du PONG
+     */
+    synchronized void sample(long sentAt, long serverTime, long receivedAt) {
+        long rtt = receivedAt - sentAt;
+        if (sentAt <= 0 || rtt < 0) return;
+
+        // Le premier échange d'une connexion paie le chargement des classes des deux côtés
+        if (!warmedUp) {
+            warmedUp = true;
+            return;
+        }
+
+        // Le serveur répond aussitôt : sa date correspond au milieu de l'aller-retour
+        long offset = serverTime - (sentAt + receivedAt) / 2;
+
+        if (smoothedRtt < 0) {
+            smoothedRtt = rtt;
+            rttVariance = rtt / 2.0;
+        } else {
+            rttVariance = 0.75 * rttVariance + 0.25 * Math.abs(smoothedRtt - rtt);
+            smoothedRtt = 0.875 * smoothedRtt + 0.125 * rtt;
+        }
+
+        windowRtt[windowNext] = rtt;
+        windowOffset[windowNext] = offset;
+        windowNext = (windowNext + 1) % WINDOW;
+        windowCount = Math.min(windowCount + 1, WINDOW);
+
+        int best = 0;
+        for (int i = 1; i < windowCount; i++) {
+            if (windowRtt[i] < windowRtt[best]) {
+                best = i;
+            }
+        }
+
+        smoothedRttMillis = (int) Math.round(smoothedRtt);
+        jitterMillis = (int) Math.round(rttVariance);
+        clockOffsetMillis = windowOffset[best];
+    }
+
+    /**
+     * Oublie les mesures (nouvelle connexion)
+     */
+    synchronized void reset() {
+        windowCount = 0;
+        windowNext = 0;
+        warmedUp = false;
+        smoothedRtt = -1;
+        rttVariance = 0;
+        smoothedRttMillis = -1;
+        jitterMillis = -1;
+        clockOffsetMillis = 0;
+    }
+
+    /** RTT lissé en millisecondes, -1 tant qu'aucune mesure n'est disponible */
+    int getSmoothedRttMillis() {
+        return smoothedRttMillis;
+    }
+
+    /** Variation moyenne du RTT en millisecondes, -1 tant qu'aucune mesure n'est disponible */
+    int getJitterMillis() {
+        return jitterMillis;
+    }
+
+    /** Horloge du serveur moins horloge locale, en millisecondes */
+    long getClockOffsetMillis() {
+        return clockOffsetMillis;
+    }
+}
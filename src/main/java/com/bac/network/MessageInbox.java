@@ -0,0 +1,89 @@
+package com.bac.network;
+
+import javafx.application.Platform;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Boîte de réception côté client.
+ * Le thread réseau dépose les messages ; le thread JavaFX les traite par lot,
+ * avec une seule tâche Platform.runLater en attente à la fois.
+ * Dans un lot, seuls le dernier TIMER_UPDATE et le dernier PLAYER_LIST sont transmis :
+ * les précédents sont périmés.
+ */
+final class MessageInbox {
+
+    private final ConcurrentLinkedQueue<GameMessage> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+    private final Consumer<GameMessage> dispatcher;
+
+    // Utilisé uniquement sur le thread JavaFX
+    private final List<GameMessage> batch = new ArrayList<>();
+
+    MessageInbox(Consumer<GameMessage> dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * Dépose un message (thread réseau)
+     */
+    void post(GameMessage msg) {
+        queue.offer(msg);
+        if (drainScheduled.compareAndSet(false, true)) {
+            Platform.runLater(this::drain);
+        }
+    }
+
+    /**
+     * Traite tous les messages en attente (thread JavaFX)
+     */
+    private void drain() {
+        // Réarmer avant de vider : un message arrivé pendant le traitement planifie un nouveau lot
+        drainScheduled.set(false);
+
+        GameMessage msg;
+        while ((msg = queue.poll()) != null) {
+            batch.add(msg);
+        }
+
+        int lastTimer = lastIndexOf(GameMessage.MessageType.TIMER_UPDATE);
+        int lastPlayerList = lastIndexOf(GameMessage.MessageType.PLAYER_LIST);
+
+        try {
+            for (int i = 0; i < batch.size(); i++) {
+                GameMessage current = batch.get(i);
+                if (isSuperseded(current, i, lastTimer, lastPlayerList)) {
+                    continue;
+                }
+                try {
+                    dispatcher.accept(current);
+                } catch (Exception e) {
+                    System.err.println("Erreur de traitement du message " + current.type() + ": " + e.getMessage());
+                }
+            }
+        } finally {
+            batch.clear();
+        }
+    }
+
+    private int lastIndexOf(GameMessage.MessageType type) {
+        for (int i = batch.size() - 1; i >= 0; i--) {
+            if (batch.get(i).type() == type) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isSuperseded(GameMessage msg, int index, int lastTimer, int lastPlayerList) {
+        return switch (msg.type()) {
+            case TIMER_UPDATE -> index != lastTimer;
+            case PLAYER_LIST -> index != lastPlayerList;
+            default -> false;
+        };
+    }
+}
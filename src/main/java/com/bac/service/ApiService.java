@@ -4,6 +4,11 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.net.URI;
 import java.net.URLEncoder;
 import java.net.http.HttpClient;
@@ -11,11 +16,33 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
 
 /**
  * Service pour la validation des mots via APIs externes
- * Utilise des APIs spécifiques par catégorie + Gemini pour les autres
+ * Chaque catégorie suit sa route de fournisseurs (APIs spécifiques, Gemini, lexique...), voir ProviderRouter
  */
 public class ApiService {
     
@@ -30,12 +57,342 @@ public class ApiService {
     private static final String REST_COUNTRIES_API = "https://restcountries.com/v3.1/name/";
     private static final String NOMINATIM_API = "https://nominatim.openstreetmap.org/search?format=json&city=";
     private static final String GENDERIZE_API = "https://api.genderize.io?name=";
-    private static final String WIKIPEDIA_FR_API = "https://fr.wikipedia.org/w/api.php?action=query&format=json&titles=";
+    
+    /**
+     * Fournisseurs externes, chacun avec sa limite de requêtes simultanées, son débit
+     * (requêtes par seconde et rafale, 0 : sans limite) et son coût relatif d'appel.
+     * Limites surchargeables par api.concurrency.<nom>, api.rate.<nom> et api.rate.burst.<nom>.
+     */
+    public enum Provider {
+        REST_COUNTRIES(8, 0, 0, 1),
+        NOMINATIM(1, 1, 1, 3),      // Politique d'usage : une requête par seconde au plus
+        GENDERIZE(4, 1, 5, 3),      // Quota journalier gratuit réduit
+        GEMINI(4, 0.25, 15, 5);     // Offre gratuite : 15 requêtes par minute
+        
+        private final int defaultConcurrency;
+        private final double defaultRate;
+        private final double defaultBurst;
+        private final int cost;
+        
+        Provider(int defaultConcurrency, double defaultRate, double defaultBurst, int cost) {
+            this.defaultConcurrency = defaultConcurrency;
+            this.defaultRate = defaultRate;
+            this.defaultBurst = defaultBurst;
+            this.cost = cost;
+        }
+        
+        public String configName() {
+            return name().toLowerCase().replace('_', '-');
+        }
+    }
+    
+    // Routes de validation par catégorie
+    private final ProviderRouter router = new ProviderRouter();
+    private final ValidationProvider gemini = new HttpProvider(Provider.GEMINI, this::geminiVerdict);
+    
+    // Requêtes doublées : fournisseur principal et repli en course sur ce pool
+    private static final ExecutorService HEDGE_POOL = createHedgePool();
+    private final ConcurrentMap<String, LatencyTracker> latencies = new ConcurrentHashMap<>();
+    private final AtomicLong hedgedRequests = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
+    
+    // Cloisons (bulkheads) : requêtes simultanées par fournisseur, attente bornée
+    private final Semaphore[] permits = new Semaphore[Provider.values().length];
+    private final long bulkheadWaitMillis;
+    // Débit par fournisseur : file d'attente devant un seau à jetons, attente bornée
+    private final RateLimiter[] limiters = new RateLimiter[Provider.values().length];
+    private final long rateWaitMillis;
+    private final long backgroundRateWaitMillis;
+    // Les validations d'arrière-plan (brouillons) passent après celles qu'un joueur attend
+    private static final ThreadLocal<Integer> PRIORITY = ThreadLocal.withInitial(() -> RateLimiter.INTERACTIVE);
+    private final AtomicLong throttledRetries = new AtomicLong();
+    private static final int THROTTLED_RETRIES = 1;
+    private static final long DEFAULT_RETRY_AFTER_MS = 1000;
+    // Disjoncteurs : un fournisseur en panne est contourné sans attendre ses délais
+    private final CircuitBreaker[] breakers = new CircuitBreaker[Provider.values().length];
+    
+    /**
+     * Fournisseur contourné (disjoncteur ouvert ou cloison saturée) ; traité comme une erreur réseau
+     */
+    public static class ProviderUnavailableException extends IOException {
+        private static final long serialVersionUID = 1L;
+        
+        public ProviderUnavailableException(String message) {
+            super(message);
+        }
+    }
+    
+    /**
+     * Tour non obtenu dans la file de débit (limite locale) : ni panne du fournisseur, ni refus du mot
+     */
+    public static class ThrottledException extends ProviderUnavailableException {
+        private static final long serialVersionUID = 1L;
+        
+        public ThrottledException(String message) {
+            super(message);
+        }
+    }
+    
+    // Validations en cours, par (catégorie, mot) : les appels identiques simultanés partagent le même résultat
+    private final ConcurrentMap<String, CompletableFuture<Outcome>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong coalescedRequests = new AtomicLong();
+    
+    // Marqué quand un fournisseur échoue pendant la validation en cours sur ce thread
+    private static final ThreadLocal<boolean[]> DEGRADED = ThreadLocal.withInitial(() -> new boolean[1]);
+    
+    /**
+     * Verdict partagé entre appels identiques ; degraded : un fournisseur était en erreur ou n'a pas
+     * obtenu son tour, priority : priorité de débit de l'appel qui a validé
+     */
+    private record Outcome(boolean valid, boolean degraded, int priority) {
+        Outcome(boolean valid, boolean degraded) {
+            this(valid, degraded, PRIORITY.get());
+        }
+    }
+    
+    /**
+     * Réponse d'un fournisseur : verdict (null s'il n'a pas tranché) et fiabilité
+     */
+    private record Attempt(Boolean verdict, boolean degraded) {}
+    
+    // Fournisseur non interrogé faute de débit disponible (réponse distincte, comparée par identité)
+    private static final Attempt THROTTLED = new Attempt(null, true);
+    
+    /**
+     * Vérification propre à un fournisseur HTTP
+     */
+    @FunctionalInterface
+    private interface Check {
+        Boolean validate(String word, String category) throws Exception;
+    }
+    
+    /**
+     * Fournisseur intégré, adossé à une API externe
+     */
+    private record HttpProvider(Provider provider, Check check) implements ValidationProvider {
+        @Override
+        public String name() {
+            return provider.configName();
+        }
+        
+        @Override
+        public int cost() {
+            return provider.cost;
+        }
+        
+        @Override
+        public Boolean validate(String word, String category) throws Exception {
+            return check.validate(word, category);
+        }
+    }
+    
+    /**
+     * Lexique embarqué : confirme les mots qu'il contient, ne tranche pas pour les autres
+     */
+    private static final class LexiconProvider implements ValidationProvider {
+        @Override
+        public String name() {
+            return "lexicon";
+        }
+        
+        @Override
+        public int cost() {
+            return 0;
+        }
+        
+        @Override
+        public Boolean validate(String word, String category) {
+            return Lexicon.getInstance().contains(category, word.trim().toLowerCase()) ? Boolean.TRUE : null;
+        }
+    }
     
     private ApiService() {
         this.httpClient = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(15))
+                .connectTimeout(Duration.ofSeconds(5))
                 .build();
+        ConfigService config = ConfigService.getInstance();
+        this.bulkheadWaitMillis = config.getBulkheadWaitMs();
+        this.rateWaitMillis = config.getRateWaitMs();
+        this.backgroundRateWaitMillis = config.getBackgroundRateWaitMs();
+        for (Provider provider : Provider.values()) {
+            permits[provider.ordinal()] = new Semaphore(
+                config.getApiConcurrency(provider.configName(), provider.defaultConcurrency), true);
+            limiters[provider.ordinal()] = new RateLimiter(
+                config.getApiRate(provider.configName(), provider.defaultRate),
+                config.getApiBurst(provider.configName(), provider.defaultBurst));
+            breakers[provider.ordinal()] = new CircuitBreaker(provider.name(),
+                config.getBreakerWindow(), config.getBreakerFailureRate(),
+                config.getBreakerOpenMs(), config.getBreakerSlowCallMs());
+        }
+        
+        router.register(new HttpProvider(Provider.REST_COUNTRIES, (word, category) -> validateCountry(word)));
+        router.register(new HttpProvider(Provider.NOMINATIM, (word, category) -> validateCity(word)));
+        router.register(new HttpProvider(Provider.GENDERIZE, (word, category) -> validateFirstName(word)));
+        router.register(gemini);
+        router.register(new LexiconProvider());
+    }
+    
+    /**
+     * Envoie une requête au fournisseur si son disjoncteur le permet, après avoir attendu son tour
+     * dans sa file (débit) et une place dans sa cloison ; sinon échoue (ProviderUnavailableException).
+     * Une réponse 429 suspend le fournisseur pour la durée de son Retry-After, puis la requête
+     * est renvoyée une fois si cette attente tient dans l'attente permise (api.rate.wait.ms).
+     */
+    private HttpResponse<InputStream> send(Provider provider, HttpRequest request) throws IOException, InterruptedException {
+        for (int retry = 0; ; retry++) {
+            HttpResponse<InputStream> response = sendOnce(provider, request);
+            if (response.statusCode() != 429) {
+                return response;
+            }
+            long pause = retryAfterMillis(response);
+            limiters[provider.ordinal()].pauseFor(pause);
+            if (retry >= THROTTLED_RETRIES || pause > rateWait()) {
+                // Quota dépassé : un refus éventuel n'est pas un vrai verdict
+                markDegraded();
+                return response;
+            }
+            response.body().close();
+            throttledRetries.incrementAndGet();
+        }
+    }
+    
+    private HttpResponse<InputStream> sendOnce(Provider provider, HttpRequest request) throws IOException, InterruptedException {
+        // Requête doublée annulée : ne plus rien envoyer depuis ce thread (replis compris)
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedException("Validation annulée");
+        }
+        CircuitBreaker breaker = breakers[provider.ordinal()];
+        if (!breaker.tryAcquire()) {
+            throw new ProviderUnavailableException(provider + " indisponible (disjoncteur ouvert)");
+        }
+        
+        Semaphore semaphore = permits[provider.ordinal()];
+        RateLimiter limiter = limiters[provider.ordinal()];
+        boolean admitted = false;
+        try {
+            int priority = PRIORITY.get();
+            admitted = priority == RateLimiter.HEDGE
+                ? limiter.tryAcquireSpare()
+                : limiter.acquire(priority, rateWait());
+            if (!admitted) {
+                breaker.release();
+                throw new ThrottledException(provider + " : débit épuisé, requête non envoyée");
+            }
+            if (!semaphore.tryAcquire(bulkheadWaitMillis, TimeUnit.MILLISECONDS)) {
+                // Requête non envoyée : son jeton de débit revient aux suivantes
+                limiter.release();
+                breaker.release();
+                throw new ProviderUnavailableException(provider + " saturé");
+            }
+        } catch (InterruptedException e) {
+            if (admitted) {
+                limiter.release();
+            }
+            breaker.release();
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            if (response.statusCode() == 429) {
+                // Limite de débit atteinte : le fournisseur n'est pas en panne
+                breaker.release();
+            } else if (response.statusCode() >= 500) {
+                // Panne du fournisseur : un refus éventuel n'est pas un vrai verdict
+                markDegraded();
+                breaker.onFailure();
+            } else {
+                breaker.onSuccess(System.currentTimeMillis() - start);
+            }
+            return response;
+        } catch (IOException e) {
+            breaker.onFailure();
+            throw e;
+        } catch (InterruptedException e) {
+            breaker.release();
+            Thread.currentThread().interrupt();
+            throw e;
+        } catch (RuntimeException e) {
+            breaker.release();
+            throw e;
+        } finally {
+            semaphore.release();
+        }
+    }
+    
+    /**
+     * Attente permise dans la file de débit : plus longue pour une validation qu'un joueur attend
+     * que pour un brouillon (revalidé à la soumission s'il n'a pas obtenu son tour)
+     */
+    private long rateWait() {
+        return PRIORITY.get() == RateLimiter.BACKGROUND ? backgroundRateWaitMillis : rateWaitMillis;
+    }
+    
+    /**
+     * Attente demandée par une réponse 429 : en-tête Retry-After en secondes ou en date HTTP
+     */
+    private static long retryAfterMillis(HttpResponse<?> response) {
+        String value = response.headers().firstValue("Retry-After").orElse("").trim();
+        if (value.isEmpty()) {
+            return DEFAULT_RETRY_AFTER_MS;
+        }
+        try {
+            return Math.max(0, Long.parseLong(value) * 1000);
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime date = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Math.max(0, Duration.between(ZonedDateTime.now(date.getZone()), date).toMillis());
+            } catch (DateTimeParseException ex) {
+                return DEFAULT_RETRY_AFTER_MS;
+            }
+        }
+    }
+    
+    /**
+     * Corps de la réponse, décompressé s'il est envoyé en gzip ; à fermer par l'appelant
+     */
+    private static InputStream body(HttpResponse<InputStream> response) throws IOException {
+        boolean gzip = response.headers().firstValue("Content-Encoding")
+                .map(encoding -> encoding.equalsIgnoreCase("gzip")).orElse(false);
+        return gzip ? new GZIPInputStream(response.body()) : response.body();
+    }
+    
+    /**
+     * Lecture en flux du corps JSON : seuls les champs utiles sont décodés, et la fermeture
+     * du lecteur abandonne le reste de la réponse
+     */
+    private static JsonReader jsonReader(HttpResponse<InputStream> response) throws IOException {
+        return new JsonReader(new InputStreamReader(body(response), StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Avance dans l'objet JSON courant jusqu'à la valeur du champ name (les autres sont sautées) ;
+     * false si le champ est absent
+     */
+    private static boolean seek(JsonReader reader, String name) throws IOException {
+        while (reader.hasNext()) {
+            if (reader.nextName().equals(name)) {
+                return true;
+            }
+            reader.skipValue();
+        }
+        return false;
+    }
+    
+    /**
+     * Exécute une validation en arrière-plan : ses requêtes passent après celles des validations
+     * qu'un joueur attend, dans la file de chaque fournisseur
+     */
+    public <T> T inBackground(Supplier<T> task) {
+        return withPriority(RateLimiter.BACKGROUND, task);
+    }
+    
+    /**
+     * Requêtes renvoyées après un Retry-After
+     */
+    public long getThrottledRetries() {
+        return throttledRetries.get();
     }
     
     public static synchronized ApiService getInstance() {
@@ -46,293 +403,691 @@ public class ApiService {
     }
     
     /**
-     * Valide un mot selon sa catégorie en utilisant l'API appropriée
+     * Ajoute (ou remplace) un fournisseur, utilisable ensuite dans les routes validation.route.<catégorie>
+     */
+    public void registerProvider(ValidationProvider provider) {
+        router.register(provider);
+    }
+    
+    /**
+     * État du disjoncteur d'un fournisseur (CLOSED, OPEN ou HALF_OPEN)
+     */
+    public String getProviderState(Provider provider) {
+        return breakers[provider.ordinal()].getState().name();
+    }
+    
+    /**
+     * Valide un mot selon sa catégorie en utilisant l'API appropriée.
+     * Si la même validation est déjà en cours, attend son résultat au lieu de refaire les requêtes
+     * (sauf verdict non fiable obtenu à une priorité moindre, voir joinFlight).
      */
     public boolean validateWord(String word, String category) {
+        boolean[] degraded = DEGRADED.get();
+        degraded[0] = false;
         if (word == null || word.trim().isEmpty()) {
             return false;
         }
         
-        String cleanWord = word.trim();
-        String categoryLower = category.toLowerCase();
+        String key = flightKey(word, category);
+        CompletableFuture<Outcome> flight = new CompletableFuture<>();
+        CompletableFuture<Outcome> existing;
+        while ((existing = inFlight.putIfAbsent(key, flight)) != null) {
+            Outcome outcome = joinFlight(key, existing);
+            if (outcome != null) {
+                degraded[0] = outcome.degraded();
+                return outcome.valid();
+            }
+        }
         
         try {
-            // Sélectionner l'API selon la catégorie
-            switch (categoryLower) {
-                case "pays":
-                    return validateCountry(cleanWord);
-                case "ville":
-                    return validateCity(cleanWord);
-                case "prénom":
-                case "prenom":
-                    return validateFirstName(cleanWord);
-                case "animal":
-                    return validateWithWikipedia(cleanWord, "animal");
-                case "fruit":
-                    return validateWithWikipedia(cleanWord, "fruit");
-                case "plante":
-                    return validateWithWikipedia(cleanWord, "plante");
-                default:
-                    // Pour toutes les autres catégories, utiliser Gemini
-                    return validateWithGemini(cleanWord, category);
-            }
-        } catch (Exception e) {
-            System.err.println("Erreur lors de la validation de '" + word + "' pour " + category + ": " + e.getMessage());
-            // En cas d'erreur, utiliser Gemini comme fallback
-            try {
-                return validateWithGemini(cleanWord, category);
-            } catch (Exception ex) {
+            boolean valid = validateWithProviders(word, category);
+            flight.complete(new Outcome(valid, degraded[0]));
+            return valid;
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+    
+    /**
+     * Attend une validation identique déjà en cours. Renvoie null s'il faut la refaire : en erreur,
+     * ou verdict non fiable obtenu à une priorité moindre (un brouillon limité par le débit
+     * d'arrière-plan ne fait pas échouer une réponse soumise, validée à sa propre priorité)
+     */
+    private Outcome joinFlight(String key, CompletableFuture<Outcome> existing) {
+        Outcome outcome = existing.exceptionally(e -> null).join();
+        if (outcome != null && (!outcome.degraded() || outcome.priority() <= PRIORITY.get())) {
+            coalescedRequests.incrementAndGet();
+            return outcome;
+        }
+        inFlight.remove(key, existing);
+        return null;
+    }
+    
+    private static String flightKey(String word, String category) {
+        return WordNormalizer.fold(category) + '\u0000' + WordNormalizer.key(word);
+    }
+    
+    /**
+     * Indique si le dernier verdict rendu à ce thread par validateWord est fiable :
+     * false si un fournisseur était en erreur (un refus peut alors être un faux négatif)
+     */
+    public boolean isLastVerdictReliable() {
+        return !DEGRADED.get()[0];
+    }
+    
+    private static void markDegraded() {
+        DEGRADED.get()[0] = true;
+    }
+    
+    /**
+     * Nombre d'appels servis par une validation identique déjà en cours
+     */
+    public long getCoalescedRequests() {
+        return coalescedRequests.get();
+    }
+    
+    /**
+     * Indique si la route de la catégorie ne mène qu'à Gemini (sources locales mises à part) :
+     * ses mots peuvent alors être validés par lots
+     */
+    public boolean usesGeminiOnly(String category) {
+        boolean gemini = false;
+        for (ValidationProvider provider : router.configuredRoute(category)) {
+            if (provider.cost() == 0) continue;
+            if (!provider.name().equals(Provider.GEMINI.configName())) {
                 return false;
             }
+            gemini = true;
         }
+        return gemini;
     }
     
     /**
-     * Valide un pays via REST Countries API
+     * Requête doublée (hedging) : si le fournisseur principal n'a pas répondu dans le délai
+     * de la politique de la catégorie (api.hedge.<catégorie>, par défaut le p90 observé du fournisseur),
+     * le repli part en parallèle. Le premier verdict fiable l'emporte, l'autre requête est annulée.
+     * Si le principal répond sans trancher, le repli est interrogé ensuite.
+     * Le repli doublé ne prend qu'un jeton de débit en surplus (RateLimiter.tryAcquireSpare) :
+     * sans surplus, il n'est pas envoyé et le principal est attendu seul.
      */
-    private boolean validateCountry(String country) {
+    private Attempt hedged(String word, String category, ValidationProvider primary, ValidationProvider fallback) {
+        long delay = hedgeDelay(category, primary);
+        if (delay < 0) {
+            return sequential(word, category, primary, fallback);
+        }
+        
+        ExecutorCompletionService<Attempt> race = new ExecutorCompletionService<>(HEDGE_POOL);
+        Integer priority = PRIORITY.get();
+        Future<Attempt> first;
+        Future<Attempt> second = null;
         try {
-            String encodedCountry = URLEncoder.encode(country, StandardCharsets.UTF_8);
-            String url = REST_COUNTRIES_API + encodedCountry;
-            
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(url))
-                    .timeout(Duration.ofSeconds(10))
-                    .header("Accept", "application/json")
-                    .GET()
-                    .build();
-            
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-            
-            if (response.statusCode() == 200) {
-                String body = response.body();
-                JsonArray countries = JsonParser.parseString(body).getAsJsonArray();
-                
-                // Vérifier si le pays existe dans les résultats
-                for (JsonElement elem : countries) {
-                    JsonObject countryObj = elem.getAsJsonObject();
-                    
-                    // Vérifier le nom commun
-                    if (countryObj.has("name")) {
-                        JsonObject nameObj = countryObj.getAsJsonObject("name");
-                        if (nameObj.has("common")) {
-                            String commonName = nameObj.get("common").getAsString().toLowerCase();
-                            if (commonName.contains(country.toLowerCase()) || 
-                                country.toLowerCase().contains(commonName)) {
-                                return true;
-                            }
-                        }
-                        // Vérifier les traductions françaises
-                        if (nameObj.has("nativeName")) {
-                            JsonObject nativeNames = nameObj.getAsJsonObject("nativeName");
-                            if (nativeNames.has("fra")) {
-                                String frenchName = nativeNames.getAsJsonObject("fra")
-                                        .get("common").getAsString().toLowerCase();
-                                if (frenchName.contains(country.toLowerCase()) ||
-                                    country.toLowerCase().contains(frenchName)) {
-                                    return true;
-                                }
-                            }
-                        }
-                    }
-                    
-                    // Vérifier les traductions
-                    if (countryObj.has("translations") && 
-                        countryObj.getAsJsonObject("translations").has("fra")) {
-                        String frenchName = countryObj.getAsJsonObject("translations")
-                                .getAsJsonObject("fra").get("common").getAsString().toLowerCase();
-                        if (frenchName.equalsIgnoreCase(country) ||
-                            frenchName.contains(country.toLowerCase())) {
-                            return true;
-                        }
-                    }
+            first = race.submit(() -> withPriority(priority, () -> attempt(word, category, primary)));
+        } catch (RejectedExecutionException e) {
+            return sequential(word, category, primary, fallback);
+        }
+        
+        try {
+            Future<Attempt> done = race.poll(delay, TimeUnit.MILLISECONDS);
+            if (done == null) {
+                try {
+                    second = race.submit(() -> withPriority(RateLimiter.HEDGE, () -> attempt(word, category, fallback)));
+                    hedgedRequests.incrementAndGet();
+                } catch (RejectedExecutionException e) {
+                    // Pool saturé : attendre le fournisseur principal seul
                 }
-                return true; // Au moins un pays trouvé
+                done = race.take();
             }
-            return false;
+            Attempt result = done.get();
+            if (done == second && result == THROTTLED) {
+                // Repli doublé non envoyé faute de débit : attendre le principal seul
+                second = null;
+                done = first;
+                result = first.get();
+            }
+            if (!decisive(result)) {
+                if (second == null) {
+                    // Le principal n'a pas tranché à temps : interroger le repli à la suite
+                    return better(result, attempt(word, category, fallback));
+                }
+                // Premier verdict non fiable : attendre l'autre requête
+                Future<Attempt> next = race.take();
+                Attempt other = next.get();
+                if (other == THROTTLED) {
+                    return better(result, attempt(word, category, fallback));
+                }
+                if (better(result, other) == other) {
+                    result = other;
+                    done = next;
+                }
+            }
+            if (done == second && decisive(result)) {
+                hedgeWins.incrementAndGet();
+            }
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Attempt(null, true);
+        } catch (ExecutionException e) {
+            return new Attempt(null, true);
+        } finally {
+            first.cancel(true);
+            if (second != null) {
+                second.cancel(true);
+            }
+        }
+    }
+    
+    private static <T> T withPriority(Integer priority, Supplier<T> task) {
+        Integer previous = PRIORITY.get();
+        PRIORITY.set(priority);
+        try {
+            return task.get();
+        } finally {
+            PRIORITY.set(previous);
+        }
+    }
+    
+    private Attempt sequential(String word, String category, ValidationProvider primary, ValidationProvider fallback) {
+        Attempt result = attempt(word, category, primary);
+        return decisive(result) ? result : better(result, attempt(word, category, fallback));
+    }
+    
+    /**
+     * Interroge un fournisseur en mesurant son temps de réponse.
+     * Une exception donne une réponse sans verdict, marquée non fiable.
+     */
+    private Attempt attempt(String word, String category, ValidationProvider provider) {
+        DEGRADED.get()[0] = false;
+        long start = System.currentTimeMillis();
+        try {
+            Boolean verdict = provider.validate(word, category);
+            long elapsed = System.currentTimeMillis() - start;
+            latency(provider).record(elapsed);
+            router.record(category, provider, elapsed, verdict != null);
+            return new Attempt(verdict, DEGRADED.get()[0]);
+        } catch (ThrottledException e) {
+            // Limite locale : le fournisseur n'y est pour rien
+            return THROTTLED;
         } catch (Exception e) {
-            System.err.println("Erreur REST Countries API: " + e.getMessage());
-            return validateWithGemini(country, "pays");
+            // Requête doublée annulée : ce n'est pas une panne du fournisseur
+            if (!Thread.currentThread().isInterrupted()) {
+                router.recordFailure(category, provider);
+                System.err.println("Erreur " + provider.name() + " pour '" + word + "' (" + category + "): " + e.getMessage());
+            }
+            return new Attempt(null, true);
         }
     }
     
+    private static boolean decisive(Attempt attempt) {
+        return attempt.verdict() != null && !attempt.degraded();
+    }
+    
+    /**
+     * La plus exploitable de deux réponses : verdict fiable, sinon verdict quelconque
+     */
+    private static Attempt better(Attempt current, Attempt candidate) {
+        if (decisive(candidate) || (current.verdict() == null && candidate.verdict() != null)) {
+            return candidate;
+        }
+        return current;
+    }
+    
+    private LatencyTracker latency(ValidationProvider provider) {
+        return latencies.computeIfAbsent(provider.name(), name -> new LatencyTracker());
+    }
+    
     /**
-     * Valide une ville via Nominatim OpenStreetMap API
+     * Délai avant la requête de repli (ms), -1 si la catégorie n'est pas doublée.
+     * Politique : "off", un délai fixe en ms, ou "pNN" (percentile NN des temps de réponse du fournisseur).
      */
-    private boolean validateCity(String city) {
+    private long hedgeDelay(String category, ValidationProvider provider) {
+        ConfigService config = ConfigService.getInstance();
+        String policy = config.getHedgePolicy(category).trim().toLowerCase();
+        if (policy.equals("off")) {
+            return -1;
+        }
         try {
-            String encodedCity = URLEncoder.encode(city, StandardCharsets.UTF_8);
-            String url = NOMINATIM_API + encodedCity;
-            
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(url))
-                    .timeout(Duration.ofSeconds(10))
-                    .header("Accept", "application/json")
-                    .header("User-Agent", "BaccalaureatGame/1.0")
-                    .GET()
-                    .build();
-            
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-            
+            if (policy.startsWith("p")) {
+                long observed = latency(provider).percentile(Integer.parseInt(policy.substring(1)));
+                if (observed < 0) {
+                    return config.getHedgeInitialDelayMs();
+                }
+                return Math.max(config.getHedgeMinDelayMs(), observed);
+            }
+            return Long.parseLong(policy);
+        } catch (NumberFormatException e) {
+            System.err.println("Politique de doublement invalide pour " + category + ": " + policy);
+            return -1;
+        }
+    }
+    
+    /**
+     * Requêtes de repli lancées en parallèle, et celles qui ont répondu les premières
+     */
+    public long getHedgedRequests() {
+        return hedgedRequests.get();
+    }
+    
+    public long getHedgeWins() {
+        return hedgeWins.get();
+    }
+    
+    private static ExecutorService createHedgePool() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            0, 64, 30, TimeUnit.SECONDS, new SynchronousQueue<>(), r -> {
+                Thread thread = new Thread(r, "validation-hedge");
+                thread.setDaemon(true);
+                return thread;
+            });
+        return executor;
+    }
+    
+    /**
+     * Parcourt la route de la catégorie jusqu'à un verdict fiable. Un fournisseur distant
+     * suivi d'un autre est doublé par celui-ci (voir hedged) ; les sources locales sont interrogées seules.
+     */
+    private boolean validateWithProviders(String word, String category) {
+        String cleanWord = word.trim();
+        List<ValidationProvider> route = router.route(category);
+        
+        Attempt result = new Attempt(null, true);
+        for (int i = 0; i < route.size() && !decisive(result); i++) {
+            ValidationProvider provider = route.get(i);
+            Attempt attempt;
+            if (provider.cost() > 0 && i + 1 < route.size()) {
+                attempt = hedged(cleanWord, category, provider, route.get(++i));
+            } else {
+                attempt = attempt(cleanWord, category, provider);
+            }
+            result = better(result, attempt);
+        }
+        
+        // Aucun fournisseur n'a tranché : le refus n'est pas un vrai verdict
+        DEGRADED.get()[0] = !decisive(result);
+        return Boolean.TRUE.equals(result.verdict());
+    }
+    
+    /**
+     * Valide un pays via REST Countries API (champ name seul : l'API répond 404 sans correspondance)
+     */
+    private Boolean validateCountry(String country) throws IOException, InterruptedException {
+        String encodedCountry = URLEncoder.encode(country, StandardCharsets.UTF_8);
+        String url = REST_COUNTRIES_API + encodedCountry + "?fields=name";
+        
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .timeout(Duration.ofSeconds(10))
+                .header("Accept", "application/json")
+                .header("Accept-Encoding", "gzip")
+                .GET()
+                .build();
+        
+        HttpResponse<InputStream> response = send(Provider.REST_COUNTRIES, request);
+        
+        try (JsonReader reader = jsonReader(response)) {
             if (response.statusCode() == 200) {
-                String body = response.body();
-                JsonArray results = JsonParser.parseString(body).getAsJsonArray();
-                return results.size() > 0;
+                // Au moins un pays trouvé : inutile de lire la suite
+                reader.beginArray();
+                return reader.hasNext();
             }
+        }
+        if (response.statusCode() == 404) {
             return false;
-        } catch (Exception e) {
-            System.err.println("Erreur Nominatim API: " + e.getMessage());
-            return validateWithGemini(city, "ville");
         }
+        return null;
     }
     
     /**
-     * Valide un prénom via Genderize API
+     * Valide une ville via Nominatim OpenStreetMap API (un seul résultat demandé)
      */
-    private boolean validateFirstName(String firstName) {
-        try {
-            String encodedName = URLEncoder.encode(firstName, StandardCharsets.UTF_8);
-            String url = GENDERIZE_API + encodedName;
-            
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(url))
-                    .timeout(Duration.ofSeconds(10))
-                    .header("Accept", "application/json")
-                    .GET()
-                    .build();
-            
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-            
+    private Boolean validateCity(String city) throws IOException, InterruptedException {
+        String encodedCity = URLEncoder.encode(city, StandardCharsets.UTF_8);
+        String url = NOMINATIM_API + encodedCity + "&limit=1";
+        
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .timeout(Duration.ofSeconds(10))
+                .header("Accept", "application/json")
+                .header("Accept-Encoding", "gzip")
+                .header("User-Agent", "BaccalaureatGame/1.0")
+                .GET()
+                .build();
+        
+        HttpResponse<InputStream> response = send(Provider.NOMINATIM, request);
+        
+        try (JsonReader reader = jsonReader(response)) {
             if (response.statusCode() == 200) {
-                String body = response.body();
-                JsonObject result = JsonParser.parseString(body).getAsJsonObject();
-                
-                // Si l'API retourne un genre (non null), le prénom est reconnu
-                if (result.has("gender") && !result.get("gender").isJsonNull()) {
-                    // Vérifier aussi la probabilité
-                    if (result.has("probability")) {
-                        double probability = result.get("probability").getAsDouble();
-                        return probability > 0.3; // Seuil de confiance minimal
-                    }
-                    return true;
+                reader.beginArray();
+                return reader.hasNext();
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Valide un prénom via Genderize API ; un nom sans genre connu est laissé au fournisseur suivant
+     */
+    private Boolean validateFirstName(String firstName) throws IOException, InterruptedException {
+        String encodedName = URLEncoder.encode(firstName, StandardCharsets.UTF_8);
+        String url = GENDERIZE_API + encodedName;
+        
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .timeout(Duration.ofSeconds(10))
+                .header("Accept", "application/json")
+                .header("Accept-Encoding", "gzip")
+                .GET()
+                .build();
+        
+        HttpResponse<InputStream> response = send(Provider.GENDERIZE, request);
+        
+        try (JsonReader reader = jsonReader(response)) {
+            if (response.statusCode() != 200) {
+                return null;
+            }
+            boolean hasGender = false;
+            Double probability = null;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (reader.peek() == JsonToken.NULL) {
+                    reader.nextNull();
+                } else if (name.equals("gender")) {
+                    reader.nextString();
+                    hasGender = true;
+                } else if (name.equals("probability")) {
+                    probability = reader.nextDouble();
+                } else {
+                    reader.skipValue();
                 }
-                // Si pas de genre trouvé, utiliser Gemini
-                return validateWithGemini(firstName, "prénom");
             }
-            return false;
+            
+            // Si l'API retourne un genre (non null), le prénom est reconnu
+            if (hasGender) {
+                // Vérifier aussi la probabilité
+                if (probability != null) {
+                    return probability > 0.3; // Seuil de confiance minimal
+                }
+                return true;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Valide un mot via l'API Gemini (pour toutes les catégories ou en fallback)
+     */
+    public boolean validateWithGemini(String word, String category) {
+        try {
+            Boolean verdict = geminiVerdict(word, category);
+            if (verdict == null) {
+                markDegraded();
+                return false;
+            }
+            return verdict;
         } catch (Exception e) {
-            System.err.println("Erreur Genderize API: " + e.getMessage());
-            return validateWithGemini(firstName, "prénom");
+            markDegraded();
+            System.err.println("Erreur Gemini API: " + e.getMessage());
+            return false;
         }
     }
     
     /**
-     * Valide un mot via Wikipedia FR API (pour animaux, fruits, plantes)
+     * Verdict de Gemini, null s'il n'a pas répondu
      */
-    private boolean validateWithWikipedia(String word, String expectedType) {
+    private Boolean geminiVerdict(String word, String category) throws IOException, InterruptedException {
+        // Configuration de génération pour réponse courte
+        JsonObject generationConfig = new JsonObject();
+        generationConfig.addProperty("temperature", 0.1);
+        generationConfig.addProperty("maxOutputTokens", 10);
+        
+        String text = generate(createValidationPrompt(word, category), generationConfig);
+        if (text == null) {
+            return null;
+        }
+        text = text.trim().toLowerCase();
+        
+        // Vérifier si la réponse est positive
+        return text.contains("oui") || text.contains("yes") || 
+               text.contains("vrai") || text.contains("true") ||
+               text.equals("1");
+    }
+    
+    /**
+     * Mot à valider dans une requête groupée
+     */
+    public record WordQuery(String word, String category) {}
+    
+    /**
+     * Valide plusieurs mots avec Gemini, jusqu'à api.gemini.batch.size mots par requête.
+     * Un mot déjà en cours de validation (validateWord ou autre lot) rejoint cette validation
+     * (revalidé seul si elle n'a pas de verdict fiable pour un appel plus prioritaire) ;
+     * les autres sont enregistrés comme validations en cours jusqu'à leur verdict.
+     * Gemini répond par un tableau JSON structuré ; les mots sans verdict exploitable
+     * sont revalidés un par un. Verdict null : Gemini n'a pas pu répondre pour ce mot.
+     */
+    public Map<WordQuery, Boolean> validateBatchWithGemini(List<WordQuery> queries) {
+        Map<WordQuery, Boolean> verdicts = new HashMap<>();
+        Map<WordQuery, CompletableFuture<Outcome>> led = new LinkedHashMap<>();
+        Map<WordQuery, CompletableFuture<Outcome>> joined = new HashMap<>();
+        for (WordQuery query : queries) {
+            if (led.containsKey(query) || joined.containsKey(query)) continue;
+            CompletableFuture<Outcome> flight = new CompletableFuture<>();
+            CompletableFuture<Outcome> existing = inFlight.putIfAbsent(flightKey(query.word(), query.category()), flight);
+            if (existing != null) {
+                joined.put(query, existing);
+            } else {
+                led.put(query, flight);
+            }
+        }
+        
+        List<WordQuery> leading = new ArrayList<>(led.keySet());
+        int batchSize = Math.max(1, ConfigService.getInstance().getGeminiBatchSize());
         try {
-            String encodedWord = URLEncoder.encode(capitalizeFirst(word), StandardCharsets.UTF_8);
-            String url = WIKIPEDIA_FR_API + encodedWord;
-            
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(url))
-                    .timeout(Duration.ofSeconds(10))
-                    .header("Accept", "application/json")
-                    .GET()
-                    .build();
-            
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-            
-            if (response.statusCode() == 200) {
-                String body = response.body();
-                JsonObject result = JsonParser.parseString(body).getAsJsonObject();
+            for (int from = 0; from < leading.size(); from += batchSize) {
+                List<WordQuery> batch = leading.subList(from, Math.min(leading.size(), from + batchSize));
+                Boolean[] batchVerdicts = batch.size() > 1 ? requestBatchVerdicts(batch) : new Boolean[1];
+                if (batchVerdicts == null) {
+                    // Débit épuisé : revalider chaque mot ne ferait qu'allonger la file
+                    for (WordQuery query : batch) {
+                        land(led.get(query), verdicts, query, null);
+                    }
+                    continue;
+                }
                 
-                if (result.has("query") && result.getAsJsonObject("query").has("pages")) {
-                    JsonObject pages = result.getAsJsonObject("query").getAsJsonObject("pages");
-                    
-                    // Si la page existe (pas de -1)
-                    for (String key : pages.keySet()) {
-                        if (!key.equals("-1")) {
-                            // La page existe sur Wikipedia, mais on vérifie avec Gemini 
-                            // si c'est bien le bon type (animal, fruit, etc.)
-                            return validateWithGemini(word, expectedType);
-                        }
+                int fallbacks = 0;
+                for (int i = 0; i < batch.size(); i++) {
+                    WordQuery query = batch.get(i);
+                    Boolean verdict = batchVerdicts[i];
+                    if (verdict == null) {
+                        fallbacks++;
+                        Attempt single = attempt(query.word(), query.category(), gemini);
+                        verdict = decisive(single) ? single.verdict() : null;
                     }
+                    land(led.get(query), verdicts, query, verdict);
+                }
+                if (batch.size() > 1 && fallbacks > 0) {
+                    System.err.println("Gemini : " + fallbacks + "/" + batch.size() + " verdicts illisibles, revalidés un par un");
                 }
             }
-            return validateWithGemini(word, expectedType);
-        } catch (Exception e) {
-            System.err.println("Erreur Wikipedia API: " + e.getMessage());
-            return validateWithGemini(word, expectedType);
+        } finally {
+            for (Map.Entry<WordQuery, CompletableFuture<Outcome>> entry : led.entrySet()) {
+                WordQuery query = entry.getKey();
+                // Lot interrompu : les appels en attente reçoivent un verdict non fiable
+                entry.getValue().complete(new Outcome(false, true));
+                inFlight.remove(flightKey(query.word(), query.category()), entry.getValue());
+            }
+        }
+        
+        for (Map.Entry<WordQuery, CompletableFuture<Outcome>> entry : joined.entrySet()) {
+            WordQuery query = entry.getKey();
+            Outcome outcome = joinFlight(flightKey(query.word(), query.category()), entry.getValue());
+            if (outcome == null) {
+                boolean valid = validateWord(query.word(), query.category());
+                outcome = new Outcome(valid, !isLastVerdictReliable());
+            }
+            verdicts.put(entry.getKey(), outcome.valid() ? Boolean.TRUE : outcome.degraded() ? null : Boolean.FALSE);
         }
+        return verdicts;
     }
     
     /**
-     * Valide un mot via l'API Gemini (pour toutes les catégories ou en fallback)
+     * Verdict d'un mot du lot : rendu à l'appelant et aux validations identiques qui l'attendent
      */
-    public boolean validateWithGemini(String word, String category) {
+    private static void land(CompletableFuture<Outcome> flight, Map<WordQuery, Boolean> verdicts,
+                             WordQuery query, Boolean verdict) {
+        verdicts.put(query, verdict);
+        flight.complete(new Outcome(Boolean.TRUE.equals(verdict), verdict == null));
+    }
+    
+    /**
+     * Une requête Gemini pour tout le lot ; null pour chaque mot sans verdict lisible,
+     * tableau null si la requête n'a pas obtenu son tour (débit épuisé)
+     */
+    private Boolean[] requestBatchVerdicts(List<WordQuery> batch) {
+        Boolean[] verdicts = new Boolean[batch.size()];
         try {
-            String prompt = createValidationPrompt(word, category);
-            
-            JsonObject requestBody = new JsonObject();
-            JsonArray contents = new JsonArray();
-            JsonObject content = new JsonObject();
-            JsonArray parts = new JsonArray();
-            JsonObject part = new JsonObject();
+            StringBuilder prompt = new StringBuilder(
+                "Pour chaque élément numéroté, indique si le mot est un vrai représentant reconnu " +
+                "de la catégorie indiquée (pas un mot inventé). Réponds uniquement par un tableau JSON " +
+                "d'objets {\"i\": numéro, \"valid\": true ou false}, un par élément.\n");
+            for (int i = 0; i < batch.size(); i++) {
+                WordQuery query = batch.get(i);
+                prompt.append(i + 1).append(". '").append(query.word()).append("' : ")
+                      .append(getCategoryDescription(query.category())).append('\n');
+            }
             
-            part.addProperty("text", prompt);
-            parts.add(part);
-            content.add("parts", parts);
-            contents.add(content);
-            requestBody.add("contents", contents);
+            // Sortie structurée : tableau de {i, valid}
+            JsonObject item = new JsonObject();
+            item.addProperty("type", "OBJECT");
+            JsonObject properties = new JsonObject();
+            JsonObject index = new JsonObject();
+            index.addProperty("type", "INTEGER");
+            JsonObject valid = new JsonObject();
+            valid.addProperty("type", "BOOLEAN");
+            properties.add("i", index);
+            properties.add("valid", valid);
+            item.add("properties", properties);
+            JsonArray required = new JsonArray();
+            required.add("i");
+            required.add("valid");
+            item.add("required", required);
+            JsonObject schema = new JsonObject();
+            schema.addProperty("type", "ARRAY");
+            schema.add("items", item);
             
-            // Configuration de génération pour réponse courte
             JsonObject generationConfig = new JsonObject();
             generationConfig.addProperty("temperature", 0.1);
-            generationConfig.addProperty("maxOutputTokens", 10);
-            requestBody.add("generationConfig", generationConfig);
-            
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(GEMINI_API_URL + GEMINI_API_KEY))
-                    .timeout(Duration.ofSeconds(15))
-                    .header("Content-Type", "application/json")
-                    .POST(HttpRequest.BodyPublishers.ofString(requestBody.toString()))
-                    .build();
+            generationConfig.addProperty("maxOutputTokens", 32 + 16 * batch.size());
+            generationConfig.addProperty("responseMimeType", "application/json");
+            generationConfig.add("responseSchema", schema);
             
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            long start = System.currentTimeMillis();
+            String text = generate(prompt.toString(), generationConfig);
+            long elapsed = System.currentTimeMillis() - start;
+            if (text == null) {
+                recordBatch(batch, elapsed, verdicts);
+                return verdicts;
+            }
             
-            if (response.statusCode() == 200) {
-                String body = response.body();
-                JsonObject jsonResponse = JsonParser.parseString(body).getAsJsonObject();
-                
-                if (jsonResponse.has("candidates")) {
-                    JsonArray candidates = jsonResponse.getAsJsonArray("candidates");
-                    if (candidates.size() > 0) {
-                        JsonObject candidate = candidates.get(0).getAsJsonObject();
-                        if (candidate.has("content")) {
-                            JsonObject contentResp = candidate.getAsJsonObject("content");
-                            if (contentResp.has("parts")) {
-                                JsonArray partsResp = contentResp.getAsJsonArray("parts");
-                                if (partsResp.size() > 0) {
-                                    String text = partsResp.get(0).getAsJsonObject()
-                                            .get("text").getAsString().trim().toLowerCase();
-                                    
-                                    // Vérifier si la réponse est positive
-                                    return text.contains("oui") || text.contains("yes") || 
-                                           text.contains("vrai") || text.contains("true") ||
-                                           text.equals("1");
-                                }
-                            }
-                        }
+            for (JsonElement elem : JsonParser.parseString(text).getAsJsonArray()) {
+                if (!elem.isJsonObject()) continue;
+                JsonObject verdict = elem.getAsJsonObject();
+                if (!verdict.has("i") || !verdict.has("valid")) continue;
+                try {
+                    int i = verdict.get("i").getAsInt() - 1;
+                    if (i >= 0 && i < verdicts.length && verdict.get("valid").isJsonPrimitive()
+                            && verdict.getAsJsonPrimitive("valid").isBoolean()) {
+                        verdicts[i] = verdict.get("valid").getAsBoolean();
                     }
+                } catch (RuntimeException e) {
+                    // Élément illisible : revalidé seul
                 }
-            } else {
-                System.err.println("Erreur Gemini API: " + response.statusCode() + " - " + response.body());
             }
-            return false;
+            recordBatch(batch, elapsed, verdicts);
+        } catch (ThrottledException e) {
+            System.err.println("Gemini API (lot de " + batch.size() + "): " + e.getMessage());
+            return null;
         } catch (Exception e) {
-            System.err.println("Erreur Gemini API: " + e.getMessage());
-            return false;
+            for (String category : batchCategories(batch)) {
+                router.recordFailure(category, gemini);
+            }
+            System.err.println("Erreur Gemini API (lot de " + batch.size() + "): " + e.getMessage());
+        }
+        return verdicts;
+    }
+    
+    /**
+     * Mesures d'une requête groupée : temps de réponse de Gemini, et pour chaque catégorie du lot,
+     * durée de l'appel et présence d'au moins un verdict
+     */
+    private void recordBatch(List<WordQuery> batch, long elapsed, Boolean[] verdicts) {
+        latency(gemini).record(elapsed);
+        for (String category : batchCategories(batch)) {
+            boolean decided = false;
+            for (int i = 0; i < batch.size() && !decided; i++) {
+                decided = verdicts[i] != null && batch.get(i).category().equals(category);
+            }
+            router.record(category, gemini, elapsed, decided);
+        }
+    }
+    
+    private static List<String> batchCategories(List<WordQuery> batch) {
+        return batch.stream().map(WordQuery::category).distinct().toList();
+    }
+    
+    /**
+     * Envoie un prompt à Gemini et renvoie le texte de la première réponse (null si aucune)
+     */
+    private String generate(String prompt, JsonObject generationConfig) throws IOException, InterruptedException {
+        JsonObject requestBody = new JsonObject();
+        JsonArray contents = new JsonArray();
+        JsonObject content = new JsonObject();
+        JsonArray parts = new JsonArray();
+        JsonObject part = new JsonObject();
+        
+        part.addProperty("text", prompt);
+        parts.add(part);
+        content.add("parts", parts);
+        contents.add(content);
+        requestBody.add("contents", contents);
+        requestBody.add("generationConfig", generationConfig);
+        
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(GEMINI_API_URL + GEMINI_API_KEY))
+                .timeout(Duration.ofSeconds(15))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(requestBody.toString()))
+                .build();
+        
+        HttpResponse<InputStream> response = send(Provider.GEMINI, request);
+        
+        try (InputStream body = body(response)) {
+            if (response.statusCode() != 200) {
+                markDegraded();
+                System.err.println("Erreur Gemini API: " + response.statusCode() + " - "
+                        + new String(body.readAllBytes(), StandardCharsets.UTF_8));
+                return null;
+            }
+            
+            // candidates[0].content.parts[0].text, sans lire le reste de la réponse
+            JsonReader reader = new JsonReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+            reader.beginObject();
+            if (!seek(reader, "candidates")) return null;
+            reader.beginArray();
+            if (!reader.hasNext()) return null;
+            reader.beginObject();
+            if (!seek(reader, "content")) return null;
+            reader.beginObject();
+            if (!seek(reader, "parts")) return null;
+            reader.beginArray();
+            if (!reader.hasNext()) return null;
+            reader.beginObject();
+            if (!seek(reader, "text")) return null;
+            return reader.nextString();
         }
     }
     
@@ -373,14 +1128,6 @@ public class ApiService {
         }
     }
     
-    /**
-     * Capitalise la première lettre d'un mot
-     */
-    private String capitalizeFirst(String word) {
-        if (word == null || word.isEmpty()) return word;
-        return Character.toUpperCase(word.charAt(0)) + word.substring(1).toLowerCase();
-    }
-    
     /**
      * Validation asynchrone d'un mot
      */
@@ -394,12 +1141,12 @@ public class ApiService {
     public boolean isApiReachable() {
         try {
             HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create("https://restcountries.com/v3.1/name/france"))
+                    .uri(URI.create("https://restcountries.com/v3.1/name/france?fields=name"))
                     .timeout(Duration.ofSeconds(5))
                     .GET()
                     .build();
             
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
             return response.statusCode() == 200;
         } catch (Exception e) {
             return false;
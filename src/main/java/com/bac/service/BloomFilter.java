@@ -0,0 +1,103 @@
+package com.bac.service;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtre de Bloom sur des chaînes : "absent" est certain, "présent" peut être un faux positif.
+ * Dimensionné pour un nombre d'éléments et un taux de faux positifs visés ; sûr entre threads.
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final int capacity;
+    private final int bitCount;
+    private final int hashCount;
+    private final AtomicInteger insertions = new AtomicInteger();
+
+    BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        int expected = Math.max(1, expectedInsertions);
+        this.capacity = expected;
+        long optimalBits = (long) Math.ceil(-expected * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.max(1, Math.min(Integer.MAX_VALUE / 64, (optimalBits + 63) / 64));
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = words * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expected * Math.log(2)));
+    }
+
+    void put(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        boolean changed = false;
+        for (int i = 0; i < hashCount; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitCount);
+            long mask = 1L << bit;
+            int word = bit >>> 6;
+            long current;
+            while (((current = bits.get(word)) & mask) == 0) {
+                if (bits.compareAndSet(word, current, current | mask)) {
+                    changed = true;
+                    break;
+                }
+            }
+        }
+        if (changed) {
+            insertions.incrementAndGet();
+        }
+    }
+
+    boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Taux de faux positifs attendu compte tenu du nombre d'éléments déjà insérés
+     */
+    double expectedFalsePositiveRate() {
+        double filled = 1 - Math.exp(-(double) hashCount * insertions.get() / bitCount);
+        return Math.pow(filled, hashCount);
+    }
+
+    /**
+     * Nombre d'éléments prévu à la construction : au-delà, le taux de faux positifs dépasse celui visé
+     */
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Éléments insérés (une insertion qui ne change aucun bit n'est pas comptée)
+     */
+    int insertions() {
+        return insertions.get();
+    }
+
+    int sizeInBytes() {
+        return bitCount / 8;
+    }
+
+    /**
+     * FNV-1a 64 bits suivi d'un brassage final, pour dériver les positions par double hachage
+     */
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,115 @@
+package com.bac.service;
+
+/**
+ * Disjoncteur d'un fournisseur externe.
+ * Fermé : les appels passent et leurs résultats sont comptés sur une fenêtre glissante.
+ * Ouvert : au-delà du taux d'échec, les appels sont refusés immédiatement pendant un délai.
+ * Semi-ouvert : après ce délai, un seul appel d'essai décide de la fermeture ou d'une nouvelle ouverture.
+ * Un appel plus lent que le seuil compte comme un échec.
+ */
+final class CircuitBreaker {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final boolean[] outcomes;
+    private final int minimumCalls;
+    private final int failureRatePercent;
+    private final long openMillis;
+    private final long slowCallMillis;
+
+    private State state = State.CLOSED;
+    private int recorded;
+    private int next;
+    private int failures;
+    private long openedAt;
+    private boolean trialInProgress;
+
+    CircuitBreaker(String name, int windowSize, int failureRatePercent, long openMillis, long slowCallMillis) {
+        this.name = name;
+        this.outcomes = new boolean[Math.max(1, windowSize)];
+        this.minimumCalls = Math.max(1, outcomes.length / 4);
+        this.failureRatePercent = failureRatePercent;
+        this.openMillis = openMillis;
+        this.slowCallMillis = slowCallMillis;
+    }
+
+    /**
+     * Indique si un appel peut partir ; en semi-ouvert, seul l'appel d'essai est autorisé
+     */
+    synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < openMillis) {
+                return false;
+            }
+            transition(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialInProgress) {
+                return false;
+            }
+            trialInProgress = true;
+        }
+        return true;
+    }
+
+    /**
+     * Appel autorisé mais finalement non envoyé (il ne compte ni comme succès ni comme échec)
+     */
+    synchronized void release() {
+        trialInProgress = false;
+    }
+
+    synchronized void onSuccess(long durationMillis) {
+        if (durationMillis > slowCallMillis) {
+            onFailure();
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            transition(State.CLOSED);
+            return;
+        }
+        record(false);
+    }
+
+    synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            transition(State.OPEN);
+            return;
+        }
+        record(true);
+        if (state == State.CLOSED && recorded >= minimumCalls
+                && failures * 100 >= failureRatePercent * recorded) {
+            transition(State.OPEN);
+        }
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (recorded == outcomes.length) {
+            if (outcomes[next]) failures--;
+        } else {
+            recorded++;
+        }
+        outcomes[next] = failure;
+        if (failure) failures++;
+        next = (next + 1) % outcomes.length;
+    }
+
+    private void transition(State target) {
+        if (target == State.OPEN) {
+            openedAt = System.currentTimeMillis();
+        }
+        if (target == State.CLOSED) {
+            recorded = 0;
+            next = 0;
+            failures = 0;
+        }
+        trialInProgress = false;
+        state = target;
+        System.out.println("Disjoncteur " + name + " : " + target);
+    }
+}
@@ -2,6 +2,7 @@ package com.bac.service;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.text.Normalizer;
 import java.util.Properties;
 
 /**
@@ -43,6 +44,44 @@ public class ConfigService {
         properties.setProperty("api.dictionary.enabled", "true");
         properties.setProperty("server.port", "5555");
         properties.setProperty("server.timeout", "30000");
+        properties.setProperty("validation.cache.size", "10000");
+        properties.setProperty("validation.negative.size", "10000");
+        properties.setProperty("validation.negative.ttl.seconds", "3600");
+        properties.setProperty("validation.bloom.fpp", "0.01");
+        properties.setProperty("lexicon.dir", "lexicon");
+        properties.setProperty("validation.pool.size", "16");
+        properties.setProperty("validation.normalize.plurals", "true");
+        properties.setProperty("validation.fuzzy.policy", "off");
+        properties.setProperty("validation.fuzzy.max.distance", "2");
+        properties.setProperty("validation.fuzzy.letters.per.edit", "5");
+        properties.setProperty("validation.route.default", "gemini");
+        properties.setProperty("validation.route.pays", "rest-countries,gemini");
+        properties.setProperty("validation.route.ville", "nominatim,gemini");
+        properties.setProperty("validation.route.prenom", "genderize,gemini");
+        properties.setProperty("validation.route.cost.weight.ms", "200");
+        properties.setProperty("validation.route.exploration", "0.05");
+        properties.setProperty("api.gemini.batch.size", "20");
+        properties.setProperty("api.bulkhead.wait.ms", "1000");
+        properties.setProperty("api.rate.wait.ms", "30000");
+        properties.setProperty("api.rate.wait.background.ms", "5000");
+        properties.setProperty("api.hedge.default", "p90");
+        properties.setProperty("api.hedge.initial.delay.ms", "1500");
+        properties.setProperty("api.hedge.min.delay.ms", "100");
+        properties.setProperty("api.breaker.window", "20");
+        properties.setProperty("api.breaker.failure.rate", "50");
+        properties.setProperty("api.breaker.open.ms", "30000");
+        properties.setProperty("api.breaker.slow.call.ms", "5000");
+        properties.setProperty("network.compression.enabled", "true");
+        properties.setProperty("network.compression.threshold", "512");
+        properties.setProperty("network.flush.linger.micros", "200");
+        properties.setProperty("network.tcp.nodelay", "true");
+        properties.setProperty("network.write.timeout.ms", "5000");
+        properties.setProperty("network.reconnect.max.attempts", "5");
+        properties.setProperty("network.reconnect.base.delay.ms", "500");
+        properties.setProperty("network.reconnect.max.delay.ms", "10000");
+        properties.setProperty("network.ping.interval.ms", "2000");
+        properties.setProperty("network.request.timeout.ms", "5000");
+        properties.setProperty("game.deadline.grace.max.ms", "1500");
         properties.setProperty("game.timer.seconds", "120");
         properties.setProperty("game.default.categories", "Prénom,Animal,Pays,Ville,Fruit,Métier,Objet,Plante");
     }
@@ -63,6 +102,176 @@ public class ConfigService {
         properties.setProperty("api.dictionary.enabled", String.valueOf(enabled));
     }
     
+    public int getValidationCacheSize() {
+        return Integer.parseInt(properties.getProperty("validation.cache.size", "10000"));
+    }
+    
+    public int getNegativeCacheSize() {
+        return Integer.parseInt(properties.getProperty("validation.negative.size", "10000"));
+    }
+    
+    /**
+     * Durée de conservation d'un refus pour une catégorie (validation.negative.ttl.<catégorie>,
+     * nom en minuscules sans accents), sinon la durée par défaut
+     */
+    public long getNegativeTtlSeconds(String category) {
+        String defaultTtl = properties.getProperty("validation.negative.ttl.seconds", "3600");
+        return Long.parseLong(properties.getProperty("validation.negative.ttl." + categoryKey(category), defaultTtl));
+    }
+    
+    /**
+     * Nom de catégorie utilisé dans les clés de configuration : minuscules, sans accents, tirets
+     */
+    private static String categoryKey(String category) {
+        return Normalizer.normalize(category.trim().toLowerCase(), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "").replace(' ', '-');
+    }
+    
+    /**
+     * Retrait du pluriel dans les clés canoniques des mots ("éléphants" et "éléphant" partagent leur verdict)
+     */
+    public boolean isPluralStrippingEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("validation.normalize.plurals", "true"));
+    }
+    
+    /**
+     * Acceptation des fautes de frappe proches d'un mot connu : off (par défaut), unique (un seul mot
+     * le plus proche) ou nearest (le plus proche, même à égalité avec un autre)
+     */
+    public String getFuzzyPolicy() {
+        return properties.getProperty("validation.fuzzy.policy", "off").trim().toLowerCase();
+    }
+    
+    /**
+     * Distance d'édition maximale acceptée, quelle que soit la longueur du mot
+     */
+    public int getFuzzyMaxDistance() {
+        return Integer.parseInt(properties.getProperty("validation.fuzzy.max.distance", "2"));
+    }
+    
+    /**
+     * Lettres par faute tolérée, première lettre non comprise (au moins 2) : avec 5, une faute
+     * à partir de 6 lettres, deux à partir de 11
+     */
+    public int getFuzzyLettersPerEdit() {
+        return Math.max(2, Integer.parseInt(properties.getProperty("validation.fuzzy.letters.per.edit", "5")));
+    }
+    
+    public double getBloomFalsePositiveRate() {
+        return Double.parseDouble(properties.getProperty("validation.bloom.fpp", "0.01"));
+    }
+    
+    public String getLexiconDirectory() {
+        return properties.getProperty("lexicon.dir", "lexicon");
+    }
+    
+    public int getValidationPoolSize() {
+        return Integer.parseInt(properties.getProperty("validation.pool.size", "16"));
+    }
+    
+    /**
+     * Fournisseurs à interroger pour une catégorie, séparés par des virgules
+     * (validation.route.<catégorie>, nom en minuscules sans accents) ; sinon validation.route.default
+     */
+    public String getValidationRoute(String category) {
+        String defaultRoute = properties.getProperty("validation.route.default", "gemini");
+        return properties.getProperty("validation.route." + categoryKey(category), defaultRoute);
+    }
+    
+    /**
+     * Équivalent en ms d'une unité de coût d'appel, pour classer les fournisseurs d'une route
+     */
+    public long getRouteCostWeightMs() {
+        return Long.parseLong(properties.getProperty("validation.route.cost.weight.ms", "200"));
+    }
+    
+    /**
+     * Part des validations qui gardent l'ordre configuré, pour remesurer les fournisseurs relégués
+     */
+    public double getRouteExplorationRate() {
+        return Double.parseDouble(properties.getProperty("validation.route.exploration", "0.05"));
+    }
+    
+    /**
+     * Nombre maximal de requêtes simultanées vers un fournisseur externe (api.concurrency.<nom>)
+     */
+    public int getApiConcurrency(String provider, int defaultValue) {
+        return Integer.parseInt(properties.getProperty("api.concurrency." + provider, String.valueOf(defaultValue)));
+    }
+    
+    public int getGeminiBatchSize() {
+        return Integer.parseInt(properties.getProperty("api.gemini.batch.size", "20"));
+    }
+    
+    /**
+     * Débit autorisé vers un fournisseur externe en requêtes par seconde (api.rate.<nom>, 0 : sans limite)
+     */
+    public double getApiRate(String provider, double defaultValue) {
+        return Double.parseDouble(properties.getProperty("api.rate." + provider, String.valueOf(defaultValue)));
+    }
+    
+    /**
+     * Nombre de requêtes pouvant partir d'affilée vers un fournisseur (api.rate.burst.<nom>)
+     */
+    public double getApiBurst(String provider, double defaultValue) {
+        return Double.parseDouble(properties.getProperty("api.rate.burst." + provider, String.valueOf(defaultValue)));
+    }
+    
+    /**
+     * Attente maximale d'une validation attendue par un joueur dans la file d'un fournisseur
+     * (débit ou Retry-After) ; au-delà, le mot est rendu non vérifié
+     */
+    public long getRateWaitMs() {
+        return Long.parseLong(properties.getProperty("api.rate.wait.ms", "30000"));
+    }
+    
+    /**
+     * Attente maximale d'une validation d'arrière-plan (brouillon) dans la file d'un fournisseur
+     */
+    public long getBackgroundRateWaitMs() {
+        return Long.parseLong(properties.getProperty("api.rate.wait.background.ms", "5000"));
+    }
+    
+    public long getBulkheadWaitMs() {
+        return Long.parseLong(properties.getProperty("api.bulkhead.wait.ms", "1000"));
+    }
+    
+    /**
+     * Politique de doublement des requêtes d'une catégorie (api.hedge.<catégorie>, nom en minuscules
+     * sans accents) : "off", un délai en ms ou "pNN" ; sinon api.hedge.default
+     */
+    public String getHedgePolicy(String category) {
+        String defaultPolicy = properties.getProperty("api.hedge.default", "p90");
+        return properties.getProperty("api.hedge." + categoryKey(category), defaultPolicy);
+    }
+    
+    /**
+     * Délai de doublement tant que les temps de réponse du fournisseur ne sont pas connus
+     */
+    public long getHedgeInitialDelayMs() {
+        return Long.parseLong(properties.getProperty("api.hedge.initial.delay.ms", "1500"));
+    }
+    
+    public long getHedgeMinDelayMs() {
+        return Long.parseLong(properties.getProperty("api.hedge.min.delay.ms", "100"));
+    }
+    
+    public int getBreakerWindow() {
+        return Integer.parseInt(properties.getProperty("api.breaker.window", "20"));
+    }
+    
+    public int getBreakerFailureRate() {
+        return Integer.parseInt(properties.getProperty("api.breaker.failure.rate", "50"));
+    }
+    
+    public long getBreakerOpenMs() {
+        return Long.parseLong(properties.getProperty("api.breaker.open.ms", "30000"));
+    }
+    
+    public long getBreakerSlowCallMs() {
+        return Long.parseLong(properties.getProperty("api.breaker.slow.call.ms", "5000"));
+    }
+    
     public int getServerPort() {
         return Integer.parseInt(properties.getProperty("server.port", "5555"));
     }
@@ -75,6 +284,53 @@ public class ConfigService {
         return Integer.parseInt(properties.getProperty("server.timeout", "30000"));
     }
     
+    public boolean isCompressionEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("network.compression.enabled", "true"));
+    }
+    
+    public int getCompressionThreshold() {
+        return Integer.parseInt(properties.getProperty("network.compression.threshold", "512"));
+    }
+    
+    public long getFlushLingerMicros() {
+        return Long.parseLong(properties.getProperty("network.flush.linger.micros", "200"));
+    }
+    
+    public boolean isTcpNoDelay() {
+        return Boolean.parseBoolean(properties.getProperty("network.tcp.nodelay", "true"));
+    }
+    
+    /**
+     * Durée maximale d'un envoi vers un pair ; au-delà (le pair ne lit plus), la connexion est fermée
+     */
+    public long getWriteTimeoutMs() {
+        return Long.parseLong(properties.getProperty("network.write.timeout.ms", "5000"));
+    }
+    
+    public int getReconnectMaxAttempts() {
+        return Integer.parseInt(properties.getProperty("network.reconnect.max.attempts", "5"));
+    }
+    
+    public long getReconnectBaseDelayMs() {
+        return Long.parseLong(properties.getProperty("network.reconnect.base.delay.ms", "500"));
+    }
+    
+    public long getReconnectMaxDelayMs() {
+        return Long.parseLong(properties.getProperty("network.reconnect.max.delay.ms", "10000"));
+    }
+    
+    public long getPingIntervalMs() {
+        return Long.parseLong(properties.getProperty("network.ping.interval.ms", "2000"));
+    }
+    
+    public long getRequestTimeoutMs() {
+        return Long.parseLong(properties.getProperty("network.request.timeout.ms", "5000"));
+    }
+    
+    public long getDeadlineGraceMaxMs() {
+        return Long.parseLong(properties.getProperty("game.deadline.grace.max.ms", "1500"));
+    }
+    
     public int getGameTimerSeconds() {
         return Integer.parseInt(properties.getProperty("game.timer.seconds", "120"));
     }
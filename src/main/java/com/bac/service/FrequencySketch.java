@@ -0,0 +1,64 @@
+package com.bac.service;
+
+/**
+ * Estimation des fréquences d'accès (count-min sketch à 4 lignes, compteurs plafonnés à 15).
+ * Les compteurs sont divisés par deux périodiquement pour oublier les anciens accès.
+ * Non synchronisé : protégé par le verrou de son propriétaire.
+ */
+final class FrequencySketch {
+    static final int MAX_COUNT = 15;
+
+    private static final int DEPTH = 4;
+    private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+    private final byte[][] counters;
+    private final int mask;
+    private final int resetThreshold;
+    private int additions;
+
+    FrequencySketch(int capacity) {
+        int width = Integer.highestOneBit(Math.max(16, capacity - 1)) << 1;
+        this.counters = new byte[DEPTH][width];
+        this.mask = width - 1;
+        this.resetThreshold = 10 * capacity;
+    }
+
+    void increment(String key) {
+        int hash = key.hashCode();
+        boolean added = false;
+        for (int row = 0; row < DEPTH; row++) {
+            int index = index(hash, row);
+            if (counters[row][index] < MAX_COUNT) {
+                counters[row][index]++;
+                added = true;
+            }
+        }
+        if (added && ++additions >= resetThreshold) {
+            age();
+        }
+    }
+
+    int frequency(String key) {
+        int hash = key.hashCode();
+        int min = MAX_COUNT;
+        for (int row = 0; row < DEPTH; row++) {
+            min = Math.min(min, counters[row][index(hash, row)]);
+        }
+        return min;
+    }
+
+    private int index(int hash, int row) {
+        int h = hash * SEEDS[row];
+        h ^= h >>> 16;
+        return h & mask;
+    }
+
+    private void age() {
+        for (byte[] line : counters) {
+            for (int i = 0; i < line.length; i++) {
+                line[i] >>= 1;
+            }
+        }
+        additions /= 2;
+    }
+}
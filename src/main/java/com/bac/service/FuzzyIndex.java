@@ -0,0 +1,264 @@
+package com.bac.service;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Recherche des mots proches parmi des clés canoniques, avec un BK-tree par couple
+ * (catégorie, première lettre).
+ * Dans un BK-tree, les enfants d'un nœud sont rangés selon leur distance de Levenshtein au mot
+ * du nœud : par l'inégalité triangulaire, seuls ceux à distance d - r .. d + r du mot cherché
+ * peuvent être à moins de r de celui-ci, les autres branches sont ignorées.
+ * Les candidats sont classés par nombre de fautes de frappe (typoDistance : une inversion de deux
+ * lettres voisines compte pour une faute), qui vaut au moins la moitié de la distance de Levenshtein :
+ * pour k fautes, la recherche se fait dans un rayon r = 2k.
+ */
+final class FuzzyIndex {
+
+    private final Map<String, Tree> trees = new ConcurrentHashMap<>();
+    // Toutes les clés indexées, toutes catégories confondues
+    private final Set<String> keys = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Ajoute une clé canonique (WordNormalizer.key) à l'index de la catégorie
+     */
+    void add(String categoryKey, String key) {
+        if (key.isEmpty()) return;
+        keys.add(key);
+        trees.computeIfAbsent(treeKey(categoryKey, key), k -> new Tree()).add(key);
+    }
+
+    /**
+     * Indique si la clé est indexée, quelle que soit sa catégorie
+     */
+    boolean contains(String key) {
+        return keys.contains(key);
+    }
+
+    /**
+     * Propose à nearest les mots de la catégorie de même première lettre, à distance acceptable de key
+     */
+    void nearest(String categoryKey, String key, Nearest nearest) {
+        if (key.isEmpty()) return;
+        Tree tree = trees.get(treeKey(categoryKey, key));
+        if (tree != null) {
+            tree.search(key, nearest);
+        }
+    }
+
+    /**
+     * Passe à action chaque clé indexée pour la catégorie
+     */
+    void forEach(String categoryKey, Consumer<String> action) {
+        String prefix = categoryKey + '\u0000';
+        trees.forEach((treeKey, tree) -> {
+            if (treeKey.length() == prefix.length() + 1 && treeKey.startsWith(prefix)) {
+                tree.forEach(action);
+            }
+        });
+    }
+
+    int size() {
+        int size = 0;
+        for (Tree tree : trees.values()) {
+            size += tree.size;
+        }
+        return size;
+    }
+
+    private static String treeKey(String categoryKey, String key) {
+        return categoryKey + '\u0000' + key.charAt(0);
+    }
+
+    /**
+     * Distance de Levenshtein (insertions, suppressions, substitutions), sur deux lignes de la matrice
+     */
+    static int distance(CharSequence a, CharSequence b) {
+        int n = b.length();
+        int[] previous = new int[n + 1];
+        int[] current = new int[n + 1];
+        for (int j = 0; j <= n; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            char c = a.charAt(i - 1);
+            for (int j = 1; j <= n; j++) {
+                int substitution = previous[j - 1] + (b.charAt(j - 1) == c ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[n];
+    }
+
+    /**
+     * Nombre de fautes de frappe : insertions, suppressions, substitutions et inversions de deux lettres
+     * voisines ("kanguorou" est à une faute de "kangourou")
+     */
+    static int typoDistance(CharSequence a, CharSequence b) {
+        int n = b.length();
+        int[][] rows = new int[3][n + 1];
+        for (int j = 0; j <= n; j++) {
+            rows[0][j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            int[] beforePrevious = rows[(i + 1) % 3];
+            int[] previous = rows[(i + 2) % 3];
+            int[] current = rows[i % 3];
+            current[0] = i;
+            char c = a.charAt(i - 1);
+            for (int j = 1; j <= n; j++) {
+                int substitution = previous[j - 1] + (b.charAt(j - 1) == c ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                if (i > 1 && j > 1 && c == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    current[j] = Math.min(current[j], beforePrevious[j - 2] + 1);
+                }
+            }
+        }
+        return rows[a.length() % 3][n];
+    }
+
+    /**
+     * Meilleurs candidats d'une recherche, alimentés par une ou plusieurs sources (lexique, mots validés).
+     * Retient le mot le plus proche et signale une égalité avec un autre mot.
+     */
+    static final class Nearest {
+        private final int maxDistance;
+        private String word;
+        private int distance = Integer.MAX_VALUE;
+        private boolean ambiguous;
+
+        Nearest(int maxDistance) {
+            this.maxDistance = maxDistance;
+        }
+
+        /**
+         * Nombre de fautes au-delà duquel un candidat n'a plus d'intérêt
+         */
+        int bound() {
+            return Math.min(maxDistance, distance);
+        }
+
+        void offer(String candidate, int candidateDistance) {
+            if (candidateDistance > bound()) return;
+            if (candidateDistance < distance) {
+                word = candidate;
+                distance = candidateDistance;
+                ambiguous = false;
+            } else if (!candidate.equals(word)) {
+                ambiguous = true;
+            }
+        }
+
+        /**
+         * Mot le plus proche, ou null si aucun n'est à distance acceptable
+         */
+        String word() {
+            return word;
+        }
+
+        int distance() {
+            return distance;
+        }
+
+        /**
+         * Plusieurs mots différents à la plus petite distance
+         */
+        boolean isAmbiguous() {
+            return ambiguous;
+        }
+    }
+
+    private static final class Tree {
+        private Node root;
+        private volatile int size;
+
+        synchronized void add(String key) {
+            if (root == null) {
+                root = new Node(key);
+                size++;
+                return;
+            }
+            Node node = root;
+            while (true) {
+                int d = distance(key, node.word);
+                if (d == 0) return;
+                Node child = node.child(d);
+                if (child == null) {
+                    node.setChild(d, new Node(key));
+                    size++;
+                    return;
+                }
+                node = child;
+            }
+        }
+
+        synchronized void forEach(Consumer<String> action) {
+            if (root == null) return;
+            ArrayDeque<Node> stack = new ArrayDeque<>();
+            stack.push(root);
+            while (!stack.isEmpty()) {
+                Node node = stack.pop();
+                action.accept(node.word);
+                for (Node child : node.children) {
+                    if (child != null) {
+                        stack.push(child);
+                    }
+                }
+            }
+        }
+
+        synchronized void search(String key, Nearest nearest) {
+            if (root != null) {
+                search(root, key, nearest);
+            }
+        }
+
+        private void search(Node node, String key, Nearest nearest) {
+            int d = distance(key, node.word);
+            if (d <= 2 * nearest.bound()) {
+                nearest.offer(node.word, typoDistance(key, node.word));
+            }
+            // Rayon relu après l'offre : un mot plus proche restreint les branches à parcourir
+            int radius = 2 * nearest.bound();
+            int from = Math.max(1, d - radius);
+            int to = Math.min(node.children.length - 1, d + radius);
+            for (int i = from; i <= to; i++) {
+                Node child = node.children[i];
+                if (child != null) {
+                    search(child, key, nearest);
+                }
+            }
+        }
+    }
+
+    private static final class Node {
+        private static final Node[] NONE = new Node[0];
+
+        final String word;
+        // Enfant à distance i du mot du nœud en position i
+        Node[] children = NONE;
+
+        Node(String word) {
+            this.word = word;
+        }
+
+        Node child(int d) {
+            return d < children.length ? children[d] : null;
+        }
+
+        void setChild(int d, Node child) {
+            if (d >= children.length) {
+                children = Arrays.copyOf(children, d + 1);
+            }
+            children[d] = child;
+        }
+    }
+}
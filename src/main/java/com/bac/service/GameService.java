@@ -162,21 +162,20 @@ public class GameService {
     // ==================== Validation et résultats ====================
     
     public Map<String, ValidationService.ValidationResult> validateAnswers(Map<String, String> answers) {
-        Map<String, ValidationService.ValidationResult> results = new HashMap<>();
         Character letter = currentSession != null ? currentSession.getGameLetter() : null;
-        
-        for (Map.Entry<String, String> entry : answers.entrySet()) {
-            String categoryName = entry.getKey();
-            String word = entry.getValue();
-            
-            ValidationService.ValidationResult result = validationService.validateWord(word, categoryName, letter);
-            results.put(categoryName, result);
-        }
-        
-        return results;
+        return validationService.validateAll(answers, letter).join();
     }
     
     public GameResult submitAnswers(Map<String, String> answers, int completionTimeSeconds) {
+        return submitAnswers(answers, completionTimeSeconds, Map.of());
+    }
+    
+    /**
+     * Enregistre les réponses en reprenant les verdicts déjà connus (validation pendant la saisie) ;
+     * seuls les autres mots sont validés
+     */
+    public GameResult submitAnswers(Map<String, String> answers, int completionTimeSeconds,
+                                    Map<String, ValidationService.ValidationResult> knownVerdicts) {
         System.out.println("=== SOUMISSION DES RÉPONSES ===");
         System.out.println("Joueur: " + (currentPlayer != null ? currentPlayer.getPseudo() + " (ID: " + currentPlayer.getId() + ")" : "NULL"));
         System.out.println("Session: " + (currentSession != null ? currentSession.getId() : "NULL"));
@@ -190,18 +189,22 @@ public class GameService {
         
         Character letter = currentSession.getGameLetter();
         
+        // Valider en parallèle les mots non vides qui n'ont pas encore de verdict
+        Map<String, String> toValidate = new HashMap<>();
         for (Map.Entry<String, String> entry : answers.entrySet()) {
-            String categoryName = entry.getKey();
             String word = entry.getValue();
-            
-            boolean isValid = false;
-            if (word != null && !word.trim().isEmpty()) {
-                ValidationService.ValidationResult validationResult = 
-                    validationService.validateWord(word, categoryName, letter);
-                isValid = validationResult.isValid();
+            if (word != null && !word.trim().isEmpty() && !knownVerdicts.containsKey(entry.getKey())) {
+                toValidate.put(entry.getKey(), word);
             }
-            
-            result.addAnswer(categoryName, word != null ? word : "", isValid);
+        }
+        Map<String, ValidationService.ValidationResult> verdicts = new HashMap<>(knownVerdicts);
+        verdicts.putAll(validationService.validateAll(toValidate, letter).join());
+        
+        for (Map.Entry<String, String> entry : answers.entrySet()) {
+            String word = entry.getValue();
+            ValidationService.ValidationResult verdict = verdicts.get(entry.getKey());
+            boolean isValid = verdict != null && verdict.isValid();
+            result.addAnswer(entry.getKey(), word != null ? word : "", isValid);
         }
         
         result.calculateScore();
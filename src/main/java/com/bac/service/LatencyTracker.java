@@ -0,0 +1,33 @@
+package com.bac.service;
+
+import java.util.Arrays;
+
+/**
+ * Temps de réponse récents d'un fournisseur (fenêtre glissante), pour en estimer les percentiles
+ */
+final class LatencyTracker {
+
+    private static final int WINDOW = 128;
+    private static final int MIN_SAMPLES = 10;
+
+    private final long[] samples = new long[WINDOW];
+    private int count;
+    private int next;
+
+    synchronized void record(long millis) {
+        samples[next] = millis;
+        next = (next + 1) % WINDOW;
+        count = Math.min(count + 1, WINDOW);
+    }
+
+    /**
+     * Percentile (0-100) des derniers temps de réponse, -1 tant que les mesures sont trop peu nombreuses
+     */
+    synchronized long percentile(int percent) {
+        if (count < MIN_SAMPLES) return -1;
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percent / 100.0 * count) - 1;
+        return sorted[Math.max(0, Math.min(count - 1, index))];
+    }
+}
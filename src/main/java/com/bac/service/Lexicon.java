@@ -0,0 +1,165 @@
+package com.bac.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * Lexique embarqué pour les catégories à liste finie (pays, villes, prénoms, animaux, fruits, plantes).
+ * Chaque liste (ressource lexicon/<catégorie>.txt) est compilée en trie dans le dossier lexicon.dir,
+ * puis le fichier est projeté en mémoire : les mots n'occupent pas le tas.
+ * Le fichier n'est recompilé que si la liste source a changé.
+ */
+public final class Lexicon {
+
+    private static final String[] CATEGORIES = {"pays", "ville", "prenom", "animal", "fruit", "plante"};
+
+    private static Lexicon instance;
+
+    private final Map<String, LexiconTrie> tries = new HashMap<>();
+    // Nom de catégorie tel que reçu -> lexique (évite de renormaliser le nom à chaque recherche)
+    private final Map<String, Optional<LexiconTrie>> byCategoryName = new ConcurrentHashMap<>();
+
+    private Lexicon(Path directory) {
+        for (String category : CATEGORIES) {
+            try {
+                LexiconTrie trie = load(category, directory);
+                if (trie != null) {
+                    tries.put(category, trie);
+                }
+            } catch (Exception e) {
+                System.err.println("Lexique '" + category + "' indisponible: " + e.getMessage());
+            }
+        }
+        System.out.println("Lexique chargé: " + this);
+    }
+
+    public static synchronized Lexicon getInstance() {
+        if (instance == null) {
+            instance = new Lexicon(Path.of(ConfigService.getInstance().getLexiconDirectory()));
+        }
+        return instance;
+    }
+
+    /**
+     * Indique si la catégorie dispose d'un lexique
+     */
+    public boolean covers(String categoryName) {
+        return trie(categoryName).isPresent();
+    }
+
+    /**
+     * Indique si le mot figure dans le lexique de la catégorie (comparaison des formes canoniques)
+     */
+    public boolean contains(String categoryName, String word) {
+        Optional<LexiconTrie> trie = trie(categoryName);
+        return trie.isPresent() && trie.get().contains(WordNormalizer.key(word));
+    }
+
+    /**
+     * Indique si la clé canonique figure dans le lexique d'une catégorie quelconque
+     */
+    boolean containsAnywhere(String key) {
+        for (LexiconTrie trie : tries.values()) {
+            if (trie.contains(key)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Propose à nearest les mots du lexique proches de la clé canonique (même première lettre)
+     */
+    void nearest(String categoryName, String key, FuzzyIndex.Nearest nearest) {
+        trie(categoryName).ifPresent(trie -> trie.nearest(key, nearest));
+    }
+
+    private Optional<LexiconTrie> trie(String categoryName) {
+        return byCategoryName.computeIfAbsent(categoryName, name -> Optional.ofNullable(tries.get(key(name))));
+    }
+
+    @Override
+    public String toString() {
+        int words = 0;
+        int bytes = 0;
+        for (LexiconTrie trie : tries.values()) {
+            words += trie.size();
+            bytes += trie.sizeInBytes();
+        }
+        return tries.size() + " catégories, " + words + " mots, " + (bytes / 1024) + " Ko";
+    }
+
+    /**
+     * Nom de fichier de la catégorie : minuscules, sans accents ("Prénom" -> "prenom")
+     */
+    private static String key(String categoryName) {
+        return WordNormalizer.fold(categoryName);
+    }
+
+    private static LexiconTrie load(String category, Path directory) throws IOException {
+        byte[] source;
+        try (InputStream in = Lexicon.class.getClassLoader().getResourceAsStream("lexicon/" + category + ".txt")) {
+            if (in == null) return null;
+            source = in.readAllBytes();
+        }
+        CRC32 crc = new CRC32();
+        crc.update(source);
+        // Les clés changent avec le retrait du pluriel : recompiler si l'option change
+        crc.update(ConfigService.getInstance().isPluralStrippingEnabled() ? 1 : 0);
+        int checksum = (int) crc.getValue();
+
+        Path file = directory.resolve(category + ".trie");
+        if (Files.isRegularFile(file)) {
+            try {
+                ByteBuffer mapped = map(file);
+                if (LexiconTrie.checksum(mapped) == checksum) {
+                    return new LexiconTrie(mapped);
+                }
+            } catch (RuntimeException e) {
+                System.err.println("Lexique '" + category + "' corrompu, recompilation");
+            }
+        }
+
+        byte[] compiled = LexiconTrie.compile(readWords(source), checksum);
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, category, ".tmp");
+            Files.write(temp, compiled);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return new LexiconTrie(map(file));
+        } catch (IOException e) {
+            // Dossier non accessible en écriture : garder la version compilée en mémoire
+            System.err.println("Lexique '" + category + "' non enregistré: " + e.getMessage());
+            return new LexiconTrie(ByteBuffer.wrap(compiled));
+        }
+    }
+
+    private static ByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private static List<String> readWords(byte[] source) {
+        List<String> words = new ArrayList<>();
+        for (String line : new String(source, StandardCharsets.UTF_8).split("\n")) {
+            String word = line.trim();
+            if (!word.isEmpty() && !word.startsWith("#")) {
+                words.add(WordNormalizer.key(word));
+            }
+        }
+        return words;
+    }
+}
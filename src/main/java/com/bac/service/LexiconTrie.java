@@ -0,0 +1,191 @@
+package com.bac.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Trie compact en lecture seule, interrogé directement dans son tampon (fichier projeté en mémoire) :
+ * une recherche exacte ne crée aucun objet.
+ *
+ * Format (gros-boutiste) :
+ * en-tête = magic, version, somme de contrôle de la source, nombre de mots, position de la racine ;
+ * nœud = drapeaux (1 octet, bit 0 : fin de mot), nombre d'enfants (2 octets),
+ * puis pour chaque enfant, trié par caractère : caractère (2 octets), position du nœud (4 octets).
+ */
+final class LexiconTrie {
+
+    static final int MAGIC = 0x4241434C; // "BACL"
+    static final int VERSION = 2;   // 2 : mots sous forme canonique (WordNormalizer)
+    static final int HEADER_SIZE = 20;
+
+    private static final int CHILD_SIZE = 6;
+
+    private final ByteBuffer buffer;
+    private final int root;
+
+    LexiconTrie(ByteBuffer buffer) {
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Fichier de lexique invalide");
+        }
+        this.buffer = buffer;
+        this.root = buffer.getInt(16);
+    }
+
+    /**
+     * Somme de contrôle de la liste source, pour savoir si le fichier compilé est à jour
+     */
+    static int checksum(ByteBuffer buffer) {
+        return buffer.getInt(8);
+    }
+
+    int size() {
+        return buffer.getInt(12);
+    }
+
+    int sizeInBytes() {
+        return buffer.capacity();
+    }
+
+    boolean contains(CharSequence word) {
+        int node = root;
+        for (int i = 0; i < word.length(); i++) {
+            node = child(node, word.charAt(i));
+            if (node < 0) return false;
+        }
+        return (buffer.get(node) & 1) != 0;
+    }
+
+    /**
+     * Propose à nearest les mots de même première lettre à distance acceptable de word
+     * (FuzzyIndex.typoDistance). Le trie est parcouru en calculant une ligne de la matrice des distances
+     * par nœud (le préfixe du nœud face à word) : une branche est abandonnée dès que ses deux dernières
+     * lignes dépassent la borne.
+     */
+    void nearest(CharSequence word, FuzzyIndex.Nearest nearest) {
+        int length = word.length();
+        if (length == 0) return;
+        int first = child(root, word.charAt(0));
+        if (first < 0) return;
+        int maxDepth = length + nearest.bound();
+        int[][] rows = new int[maxDepth + 1][length + 1];
+        for (int j = 0; j <= length; j++) {
+            rows[0][j] = j;
+        }
+        visit(first, word.charAt(0), 1, rows, new char[maxDepth], word, nearest);
+    }
+
+    private void visit(int node, char c, int depth, int[][] rows, char[] path, CharSequence word,
+                       FuzzyIndex.Nearest nearest) {
+        int length = word.length();
+        int[] previous = rows[depth - 1];
+        int[] row = rows[depth];
+        row[0] = depth;
+        // Plus petite valeur atteignable plus bas dans le trie (une inversion repart de la ligne précédente)
+        int min = Math.min(depth, previous[0] + 1);
+        for (int j = 1; j <= length; j++) {
+            int substitution = previous[j - 1] + (word.charAt(j - 1) == c ? 0 : 1);
+            row[j] = Math.min(substitution, Math.min(previous[j], row[j - 1]) + 1);
+            if (depth > 1 && j > 1 && c == word.charAt(j - 2) && path[depth - 2] == word.charAt(j - 1)) {
+                row[j] = Math.min(row[j], rows[depth - 2][j - 2] + 1);
+            }
+            min = Math.min(min, Math.min(row[j], previous[j] + 1));
+        }
+        path[depth - 1] = c;
+        if ((buffer.get(node) & 1) != 0 && row[length] <= nearest.bound()) {
+            nearest.offer(new String(path, 0, depth), row[length]);
+        }
+        if (min > nearest.bound() || depth + 1 >= rows.length) return;
+
+        int count = buffer.getShort(node + 1) & 0xFFFF;
+        for (int i = 0; i < count; i++) {
+            int entry = node + 3 + i * CHILD_SIZE;
+            visit(buffer.getInt(entry + 2), buffer.getChar(entry), depth + 1, rows, path, word, nearest);
+        }
+    }
+
+    /**
+     * Recherche dichotomique du caractère parmi les enfants du nœud
+     */
+    private int child(int node, char c) {
+        int low = 0;
+        int high = (buffer.getShort(node + 1) & 0xFFFF) - 1;
+        int children = node + 3;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int entry = children + mid * CHILD_SIZE;
+            char current = buffer.getChar(entry);
+            if (current < c) {
+                low = mid + 1;
+            } else if (current > c) {
+                high = mid - 1;
+            } else {
+                return buffer.getInt(entry + 2);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Compile une liste de mots au format ci-dessus
+     */
+    static byte[] compile(Collection<String> words, int checksum) {
+        Node rootNode = new Node();
+        int count = 0;
+        for (String word : words) {
+            Node node = rootNode;
+            for (int i = 0; i < word.length(); i++) {
+                node = node.children.computeIfAbsent(word.charAt(i), c -> new Node());
+            }
+            if (!node.terminal) {
+                node.terminal = true;
+                count++;
+            }
+        }
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.write(new byte[HEADER_SIZE]);
+            int rootOffset = write(rootNode, out);
+            out.flush();
+
+            ByteBuffer result = ByteBuffer.wrap(bytes.toByteArray());
+            result.putInt(0, MAGIC);
+            result.putInt(4, VERSION);
+            result.putInt(8, checksum);
+            result.putInt(12, count);
+            result.putInt(16, rootOffset);
+            return result.array();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Écrit les enfants avant leur parent (leurs positions sont alors connues) ; renvoie la position du nœud
+     */
+    private static int write(Node node, DataOutputStream out) throws IOException {
+        for (Node child : node.children.values()) {
+            child.offset = write(child, out);
+        }
+        int offset = out.size();
+        out.writeByte(node.terminal ? 1 : 0);
+        out.writeShort(node.children.size());
+        for (Map.Entry<Character, Node> entry : node.children.entrySet()) {
+            out.writeChar(entry.getKey());
+            out.writeInt(entry.getValue().offset);
+        }
+        return offset;
+    }
+
+    private static final class Node {
+        final TreeMap<Character, Node> children = new TreeMap<>();
+        boolean terminal;
+        int offset;
+    }
+}
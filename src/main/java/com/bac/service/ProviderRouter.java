@@ -0,0 +1,141 @@
+package com.bac.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Table de routage des validations : pour chaque catégorie, les fournisseurs à interroger
+ * (validation.route.<catégorie>, sinon validation.route.default).
+ * L'ordre est réévalué à chaque appel d'après les mesures de la catégorie : temps de réponse,
+ * coût de l'appel et part des appels qui ont donné un verdict. Les sources locales passent en tête,
+ * un fournisseur en panne ou qui tranche rarement recule. De temps en temps l'ordre configuré
+ * est conservé pour remesurer les fournisseurs relégués.
+ */
+final class ProviderRouter {
+
+    // Temps de réponse supposé d'un fournisseur distant encore jamais mesuré
+    private static final double DEFAULT_LATENCY_MS = 500;
+    // Poids des nouvelles mesures dans les moyennes glissantes
+    private static final double ALPHA = 0.2;
+    private static final double MIN_SUCCESS = 0.05;
+
+    private final Map<String, ValidationProvider> providers = new ConcurrentHashMap<>();
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+    private final Set<String> unknownNames = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Mesures d'un fournisseur pour une catégorie
+     */
+    private static final class Stats {
+        double latency = -1;
+        double success = 1;
+    }
+
+    void register(ValidationProvider provider) {
+        providers.put(provider.name().trim().toLowerCase(), provider);
+    }
+
+    /**
+     * Fournisseurs de la catégorie dans l'ordre de la table (noms inconnus ignorés)
+     */
+    List<ValidationProvider> configuredRoute(String category) {
+        ConfigService config = ConfigService.getInstance();
+        List<ValidationProvider> route = parse(config.getValidationRoute(category));
+        if (route.isEmpty()) {
+            route = parse(config.getProperty("validation.route.default", "gemini"));
+        }
+        return route;
+    }
+
+    /**
+     * Fournisseurs de la catégorie, du plus au moins avantageux
+     */
+    List<ValidationProvider> route(String category) {
+        List<ValidationProvider> route = configuredRoute(category);
+        if (route.size() < 2) {
+            return route;
+        }
+        double exploration = ConfigService.getInstance().getRouteExplorationRate();
+        if (ThreadLocalRandom.current().nextDouble() < exploration) {
+            route.sort(Comparator.comparing(provider -> provider.cost() > 0));
+            return route;
+        }
+        String key = key(category);
+        long costWeight = ConfigService.getInstance().getRouteCostWeightMs();
+        Map<ValidationProvider, Double> scores = new HashMap<>();
+        for (ValidationProvider provider : route) {
+            scores.put(provider, score(key, provider, costWeight));
+        }
+        route.sort(Comparator.comparingDouble(scores::get));
+        return route;
+    }
+
+    /**
+     * Appel terminé : durée et présence d'un verdict
+     */
+    void record(String category, ValidationProvider provider, long millis, boolean decided) {
+        Stats s = stats(category, provider);
+        synchronized (s) {
+            s.latency = s.latency < 0 ? millis : s.latency + ALPHA * (millis - s.latency);
+            s.success += ALPHA * ((decided ? 1 : 0) - s.success);
+        }
+    }
+
+    /**
+     * Appel en erreur (ou fournisseur contourné) : sa durée ne dit rien du temps de réponse
+     */
+    void recordFailure(String category, ValidationProvider provider) {
+        Stats s = stats(category, provider);
+        synchronized (s) {
+            s.success -= ALPHA * s.success;
+        }
+    }
+
+    /**
+     * Coût estimé d'un verdict (ms) : temps de réponse et coût de l'appel, divisés par la part
+     * des appels qui tranchent
+     */
+    private double score(String key, ValidationProvider provider, long costWeight) {
+        double latency = provider.cost() == 0 ? 0 : DEFAULT_LATENCY_MS;
+        double success = 1;
+        Stats s = stats.get(key + '\u0000' + provider.name());
+        if (s != null) {
+            synchronized (s) {
+                if (s.latency >= 0) latency = s.latency;
+                success = s.success;
+            }
+        }
+        return (latency + costWeight * provider.cost()) / Math.max(MIN_SUCCESS, success);
+    }
+
+    private Stats stats(String category, ValidationProvider provider) {
+        return stats.computeIfAbsent(key(category) + '\u0000' + provider.name(), k -> new Stats());
+    }
+
+    private List<ValidationProvider> parse(String names) {
+        List<ValidationProvider> route = new ArrayList<>();
+        for (String name : names.split(",")) {
+            String key = name.trim().toLowerCase();
+            if (key.isEmpty()) continue;
+            ValidationProvider provider = providers.get(key);
+            if (provider == null) {
+                if (unknownNames.add(key)) {
+                    System.err.println("Fournisseur de validation inconnu: " + key);
+                }
+            } else if (!route.contains(provider)) {
+                route.add(provider);
+            }
+        }
+        return route;
+    }
+
+    private static String key(String category) {
+        return category.trim().toLowerCase();
+    }
+}
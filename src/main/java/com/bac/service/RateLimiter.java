@@ -0,0 +1,127 @@
+package com.bac.service;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Débit autorisé vers un fournisseur : seau à jetons (débit moyen et rafale maximale).
+ * Les demandes attendent leur tour dans l'ordre d'arrivée, les validations interactives
+ * passant avant celles d'arrière-plan. Un Retry-After suspend la distribution des jetons.
+ * Les requêtes doublées (HEDGE) n'attendent pas : elles ne prennent qu'un jeton en surplus.
+ */
+final class RateLimiter {
+
+    static final int INTERACTIVE = 0;
+    static final int BACKGROUND = 1;
+    static final int HEDGE = 2;
+
+    private final double permitsPerSecond;
+    private final double burst;
+    // File d'attente par priorité (INTERACTIVE, BACKGROUND)
+    private final List<ArrayDeque<Object>> queues = List.of(new ArrayDeque<>(), new ArrayDeque<>());
+
+    private double tokens;
+    private long refilledAt = System.nanoTime();
+    private long pausedUntil = refilledAt;
+
+    /**
+     * permitsPerSecond <= 0 : pas de limite de débit (seuls l'ordre et les Retry-After s'appliquent)
+     */
+    RateLimiter(double permitsPerSecond, double burst) {
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = Math.max(1, burst);
+        this.tokens = this.burst;
+    }
+
+    /**
+     * Attend un jeton au plus maxWaitMillis ; false si le tour n'est pas venu à temps
+     */
+    synchronized boolean acquire(int priority, long maxWaitMillis) throws InterruptedException {
+        Object ticket = new Object();
+        ArrayDeque<Object> queue = queues.get(priority);
+        queue.addLast(ticket);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        try {
+            while (true) {
+                long now = System.nanoTime();
+                refill(now);
+                boolean next = head() == ticket;
+                if (next && now - pausedUntil >= 0 && (permitsPerSecond <= 0 || tokens >= 1)) {
+                    tokens -= 1;
+                    return true;
+                }
+                long remaining = deadline - now;
+                if (remaining <= 0) {
+                    return false;
+                }
+                long sleep = remaining;
+                if (next) {
+                    long untilToken = permitsPerSecond <= 0 || tokens >= 1
+                        ? 0 : (long) ((1 - tokens) / permitsPerSecond * 1_000_000_000L);
+                    sleep = Math.min(sleep, Math.max(pausedUntil - now, untilToken));
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, Math.max(sleep, 1_000_000L));
+            }
+        } finally {
+            queue.remove(ticket);
+            notifyAll();
+        }
+    }
+
+    /**
+     * Jeton pris sans attendre, seulement s'il est en surplus : personne dans les files, pas de pause,
+     * et plus de la moitié de la rafale disponible. Les requêtes doublées n'entament pas ainsi
+     * le débit dont les validations attendues ont besoin.
+     */
+    synchronized boolean tryAcquireSpare() {
+        long now = System.nanoTime();
+        refill(now);
+        if (!queues.get(INTERACTIVE).isEmpty() || !queues.get(BACKGROUND).isEmpty() || now - pausedUntil < 0) {
+            return false;
+        }
+        if (permitsPerSecond <= 0) {
+            return true;
+        }
+        if (tokens < 1 + burst / 2) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    /**
+     * Rend un jeton pris pour une requête finalement non envoyée (cloison saturée, annulation)
+     */
+    synchronized void release() {
+        refill(System.nanoTime());
+        tokens = Math.min(burst, tokens + 1);
+        notifyAll();
+    }
+
+    /**
+     * Le fournisseur demande d'attendre (réponse 429 avec Retry-After) : aucun jeton avant l'échéance
+     */
+    synchronized void pauseFor(long millis) {
+        long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        if (until - pausedUntil > 0) {
+            pausedUntil = until;
+            // À l'échéance, une seule requête repart avant de reprendre le débit normal
+            tokens = 1;
+        }
+    }
+
+    private Object head() {
+        ArrayDeque<Object> interactive = queues.get(INTERACTIVE);
+        return interactive.isEmpty() ? queues.get(BACKGROUND).peekFirst() : interactive.peekFirst();
+    }
+
+    private void refill(long now) {
+        // Pas de jetons accumulés pendant une pause demandée par le fournisseur
+        long from = pausedUntil - refilledAt > 0 ? pausedUntil : refilledAt;
+        if (permitsPerSecond > 0 && now - from > 0) {
+            tokens = Math.min(burst, tokens + (now - from) / 1_000_000_000.0 * permitsPerSecond);
+        }
+        refilledAt = now;
+    }
+}
@@ -0,0 +1,60 @@
+package com.bac.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Ensemble borné de clés selon le principe W-TinyLFU : une petite fenêtre LRU (1 % de la capacité)
+ * accueille les nouvelles clés, et une clé qui en sort n'entre dans le segment principal que si elle
+ * est demandée plus souvent que celle qu'elle remplacerait (FrequencySketch). Sûr entre threads.
+ */
+final class TinyLfuSet {
+
+    private final int windowCapacity;
+    private final int mainCapacity;
+    private final LinkedHashMap<String, Boolean> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<String, Boolean> main = new LinkedHashMap<>(16, 0.75f, true);
+    private final FrequencySketch sketch;
+
+    TinyLfuSet(int capacity) {
+        int size = Math.max(2, capacity);
+        this.windowCapacity = Math.max(1, size / 100);
+        this.mainCapacity = size - windowCapacity;
+        this.sketch = new FrequencySketch(size);
+    }
+
+    /**
+     * Indique si la clé est retenue ; chaque demande compte pour sa fréquence, présente ou non
+     */
+    synchronized boolean contains(String key) {
+        sketch.increment(key);
+        return window.get(key) != null || main.get(key) != null;
+    }
+
+    synchronized void add(String key) {
+        if (window.containsKey(key) || main.containsKey(key)) return;
+
+        window.put(key, Boolean.TRUE);
+        if (window.size() <= windowCapacity) return;
+
+        // Le plus ancien de la fenêtre candidat au segment principal
+        Iterator<String> eldest = window.keySet().iterator();
+        String candidate = eldest.next();
+        eldest.remove();
+
+        if (main.size() < mainCapacity) {
+            main.put(candidate, Boolean.TRUE);
+            return;
+        }
+        Map.Entry<String, Boolean> victim = main.entrySet().iterator().next();
+        if (sketch.frequency(candidate) > sketch.frequency(victim.getKey())) {
+            main.remove(victim.getKey());
+            main.put(candidate, Boolean.TRUE);
+        }
+    }
+
+    synchronized int size() {
+        return window.size() + main.size();
+    }
+}
@@ -0,0 +1,375 @@
+package com.bac.service;
+
+import com.bac.model.dao.CategoryDAO;
+import com.bac.model.dao.WordDAO;
+import com.bac.model.entity.Word;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache des verdicts de validation, placé devant les APIs externes.
+ * Mots valides sur deux niveaux : une mémoire bornée puis la table "words" (persistante).
+ * Lecture : mémoire, puis base (le mot trouvé remonte en mémoire).
+ * Écriture : mémoire immédiatement, base en arrière-plan sur un thread dédié.
+ * Un filtre de Bloom par catégorie, construit depuis la table, évite d'interroger la base
+ * pour un mot qui n'y est certainement pas ; il est reconstruit deux fois plus grand
+ * quand il dépasse sa capacité.
+ * Les refus des APIs sont gardés à part, pendant une durée propre à chaque catégorie.
+ * Les mots sont indexés (et enregistrés) sous leur forme canonique (WordNormalizer).
+ * Les mots valides alimentent aussi un index approché (FuzzyIndex) pour tolérer les fautes de frappe.
+ *
+ * La mémoire suit le principe W-TinyLFU (TinyLfuSet) : un mot nouveau n'y chasse un mot
+ * installé que s'il est demandé plus souvent que lui.
+ */
+public final class ValidationCache {
+
+    private static final String SOURCE = "API";
+    private static final int MIN_FILTER_CAPACITY = 1024;
+
+    private final TinyLfuSet memory;
+
+    private final WordDAO wordDAO = new WordDAO();
+    private final CategoryDAO categoryDAO = new CategoryDAO();
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "validation-cache-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Accès à la base sérialisés : les threads de validation ne se disputent pas les connexions
+    private final Object storeLock = new Object();
+    // Clés en attente d'écriture en base (évite les doublons dans la file)
+    private final Set<String> pendingWrites = ConcurrentHashMap.newKeySet();
+
+    // Mots valides connus en base, par catégorie ; utilisés une fois chargés depuis la table.
+    // Créés et remplacés sous le verrou de la table, lus sans verrou.
+    private final Map<String, BloomFilter> filters = new ConcurrentHashMap<>();
+    private final double bloomFalsePositiveRate;
+    private volatile boolean filtersReady;
+    // Catégories validées avant le chargement des filtres (leurs mots attendent dans l'index approché)
+    private final Set<String> unfiltered = new HashSet<>();
+    // Mots valides (table et validations de la session), recherche par distance d'édition
+    private final FuzzyIndex fuzzy = new FuzzyIndex();
+
+    // Refus des APIs : clé -> date d'expiration (ms)
+    private final Map<String, Long> negatives = new ConcurrentHashMap<>();
+    private final int negativeCapacity;
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong storeHits = new AtomicLong();
+    private final AtomicLong negativeHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong storeWrites = new AtomicLong();
+    private final AtomicLong storeSkips = new AtomicLong();
+    private final AtomicLong bloomFalsePositives = new AtomicLong();
+
+    ValidationCache(int capacity, int negativeCapacity, double bloomFalsePositiveRate) {
+        this.memory = new TinyLfuSet(capacity);
+        this.negativeCapacity = negativeCapacity;
+        this.bloomFalsePositiveRate = bloomFalsePositiveRate;
+        writer.execute(this::loadFilters);
+    }
+
+    /**
+     * Verdict déjà connu : true (valide, mémoire ou base), false (refusé récemment), null si inconnu
+     */
+    Boolean lookup(String categoryName, String word) {
+        String key = key(categoryName, word);
+        if (memory.contains(key)) {
+            memoryHits.incrementAndGet();
+            return Boolean.TRUE;
+        }
+
+        Long expiry = negatives.get(key);
+        if (expiry != null) {
+            if (expiry > System.currentTimeMillis()) {
+                negativeHits.incrementAndGet();
+                return Boolean.FALSE;
+            }
+            negatives.remove(key, expiry);
+        }
+
+        // Absent du filtre : certainement absent de la base
+        if (filtersReady) {
+            BloomFilter filter = filters.get(categoryKey(categoryName));
+            if (filter == null || !filter.mightContain(wordKey(word))) {
+                storeSkips.incrementAndGet();
+                misses.incrementAndGet();
+                return null;
+            }
+        }
+
+        if (lookupStore(categoryName, word)) {
+            storeHits.incrementAndGet();
+            memory.add(key);
+            return Boolean.TRUE;
+        }
+        if (filtersReady) {
+            bloomFalsePositives.incrementAndGet();
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Enregistre un refus, oublié après la durée configurée pour la catégorie
+     */
+    void putInvalid(String categoryName, String word) {
+        long ttlSeconds = ConfigService.getInstance().getNegativeTtlSeconds(categoryKey(categoryName));
+        if (ttlSeconds <= 0) return;
+
+        if (negatives.size() >= negativeCapacity) {
+            long now = System.currentTimeMillis();
+            negatives.values().removeIf(expiry -> expiry <= now);
+            // Toujours plein : on ne retient pas ce refus
+            if (negatives.size() >= negativeCapacity) return;
+        }
+        negatives.put(key(categoryName, word), System.currentTimeMillis() + ttlSeconds * 1000);
+    }
+
+    /**
+     * Enregistre un mot validé : en mémoire tout de suite, en base en arrière-plan
+     */
+    void put(String categoryName, String word) {
+        String key = key(categoryName, word);
+        memory.add(key);
+        negatives.remove(key);
+        // L'index approché d'abord : c'est la source des filtres reconstruits
+        fuzzy.add(categoryKey(categoryName), wordKey(word));
+        addToFilter(categoryKey(categoryName), wordKey(word));
+        if (pendingWrites.add(key)) {
+            writer.execute(() -> {
+                try {
+                    persist(categoryName, wordKey(word));
+                } finally {
+                    pendingWrites.remove(key);
+                }
+            });
+        }
+    }
+
+    /**
+     * Propose à nearest les mots validés proches de la clé canonique (même première lettre)
+     */
+    void nearest(String categoryName, String key, FuzzyIndex.Nearest nearest) {
+        fuzzy.nearest(categoryKey(categoryName), key, nearest);
+    }
+
+    /**
+     * Indique si la clé canonique est un mot validé, dans n'importe quelle catégorie
+     */
+    boolean isKnownWord(String key) {
+        return fuzzy.contains(key);
+    }
+
+    private static String key(String categoryName, String word) {
+        return categoryKey(categoryName) + '\u0000' + wordKey(word);
+    }
+
+    private static String categoryKey(String categoryName) {
+        return WordNormalizer.fold(categoryName);
+    }
+
+    private static String wordKey(String word) {
+        return WordNormalizer.key(word);
+    }
+
+    /**
+     * Ajoute un mot validé au filtre de sa catégorie ; avant le chargement, il attend dans l'index approché
+     */
+    private void addToFilter(String categoryKey, String word) {
+        synchronized (filters) {
+            if (!filtersReady) {
+                unfiltered.add(categoryKey);
+                return;
+            }
+            BloomFilter filter = filters.get(categoryKey);
+            if (filter == null) {
+                buildFilter(categoryKey, MIN_FILTER_CAPACITY);
+                return;
+            }
+            filter.put(word);
+            if (filter.insertions() > filter.capacity()) {
+                buildFilter(categoryKey, 2 * filter.capacity());
+            }
+        }
+    }
+
+    /**
+     * (Re)construit le filtre d'une catégorie depuis l'index approché, qui contient tous ses mots valides :
+     * au moins minCapacity éléments, et deux fois le nombre de mots actuels. Sous le verrou de filters.
+     */
+    private void buildFilter(String categoryKey, int minCapacity) {
+        List<String> words = new ArrayList<>();
+        fuzzy.forEach(categoryKey, words::add);
+        BloomFilter filter = new BloomFilter(Math.max(minCapacity, 2 * words.size()), bloomFalsePositiveRate);
+        for (String word : words) {
+            filter.put(word);
+        }
+        filters.put(categoryKey, filter);
+    }
+
+    /**
+     * Charge les mots valides de la table, puis construit les filtres à leur taille
+     * (thread d'écriture, au démarrage)
+     */
+    private void loadFilters() {
+        try {
+            List<Object[]> rows;
+            synchronized (storeLock) {
+                rows = wordDAO.findValidWordsWithCategoryName();
+            }
+            Set<String> categories = new HashSet<>();
+            for (Object[] row : rows) {
+                String category = categoryKey((String) row[0]);
+                categories.add(category);
+                fuzzy.add(category, wordKey((String) row[1]));
+            }
+            synchronized (filters) {
+                categories.addAll(unfiltered);
+                unfiltered.clear();
+                for (String category : categories) {
+                    buildFilter(category, MIN_FILTER_CAPACITY);
+                }
+                filtersReady = true;
+            }
+        } catch (Exception e) {
+            // Sans filtre, chaque absence en mémoire interroge la base
+            System.err.println("Filtre des mots valides indisponible: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Mot valide en base, sous sa forme canonique ou telle que saisie (lignes antérieures aux clés canoniques)
+     */
+    private boolean lookupStore(String categoryName, String word) {
+        String key = wordKey(word);
+        try {
+            synchronized (storeLock) {
+                boolean valid = wordDAO.findByWordAndCategoryName(key, categoryName)
+                        .map(Word::isValid)
+                        .orElse(false);
+                if (!valid && !key.equals(word.trim().toLowerCase())) {
+                    valid = wordDAO.findByWordAndCategoryName(word, categoryName)
+                            .map(Word::isValid)
+                            .orElse(false);
+                }
+                return valid;
+            }
+        } catch (Exception e) {
+            System.err.println("Erreur de lecture du cache de validation: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void persist(String categoryName, String word) {
+        try {
+            synchronized (storeLock) {
+                categoryDAO.findByName(categoryName).ifPresent(category -> {
+                    if (wordDAO.findByWordAndCategory(word, category).isEmpty()) {
+                        wordDAO.saveValidatedWord(word, category, SOURCE);
+                        storeWrites.incrementAndGet();
+                    }
+                });
+            }
+        } catch (Exception e) {
+            System.err.println("Erreur d'écriture du cache de validation: " + e.getMessage());
+        }
+    }
+
+    public long getMemoryHits() {
+        return memoryHits.get();
+    }
+
+    public long getStoreHits() {
+        return storeHits.get();
+    }
+
+    public long getNegativeHits() {
+        return negativeHits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Lectures en base évitées grâce au filtre de Bloom
+     */
+    public long getStoreSkips() {
+        return storeSkips.get();
+    }
+
+    /**
+     * Taux de faux positifs observé : lectures en base inutiles parmi les mots absents de la base
+     */
+    public double getBloomObservedFalsePositiveRate() {
+        long falsePositives = bloomFalsePositives.get();
+        long negatives = falsePositives + storeSkips.get();
+        return negatives == 0 ? 0 : (double) falsePositives / negatives;
+    }
+
+    /**
+     * Taux de faux positifs théorique le plus élevé parmi les filtres, selon leur remplissage
+     */
+    public double getBloomExpectedFalsePositiveRate() {
+        double worst = 0;
+        for (BloomFilter filter : filters.values()) {
+            worst = Math.max(worst, filter.expectedFalsePositiveRate());
+        }
+        return worst;
+    }
+
+    public long getBloomMemoryBytes() {
+        long bytes = 0;
+        for (BloomFilter filter : filters.values()) {
+            bytes += filter.sizeInBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * Mots de l'index approché (fautes de frappe)
+     */
+    public int getFuzzySize() {
+        return fuzzy.size();
+    }
+
+    public int getNegativeSize() {
+        return negatives.size();
+    }
+
+    public long getStoreWrites() {
+        return storeWrites.get();
+    }
+
+    /**
+     * Proportion des requêtes servies par le cache (mémoire, base ou refus récent)
+     */
+    public double getHitRate() {
+        long hits = memoryHits.get() + storeHits.get() + negativeHits.get();
+        long total = hits + misses.get();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    public int size() {
+        return memory.size();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("mémoire %d, base %d, refus %d, absents %d (%.0f %%), %d mots en mémoire, "
+                + "%d refus retenus, %d lectures évitées, filtres %d Ko (faux positifs %.2f %%), "
+                + "%d mots dans l'index approché",
+            getMemoryHits(), getStoreHits(), getNegativeHits(), getMisses(), getHitRate() * 100, size(),
+            getNegativeSize(), getStoreSkips(), getBloomMemoryBytes() / 1024,
+            getBloomObservedFalsePositiveRate() * 100, getFuzzySize());
+    }
+}
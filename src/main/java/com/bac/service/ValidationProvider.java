@@ -0,0 +1,26 @@
+package com.bac.service;
+
+/**
+ * Source de verdicts pour la validation des mots (API externe, lexique...).
+ * Les fournisseurs sont enchaînés par catégorie selon la table validation.route.<catégorie>
+ * (voir ApiService.registerProvider pour en ajouter).
+ */
+public interface ValidationProvider {
+
+    /**
+     * Nom utilisé dans la table de routage (ex. "rest-countries")
+     */
+    String name();
+
+    /**
+     * Coût relatif d'un appel : 0 pour une source locale, plus élevé pour une API limitée ou payante
+     */
+    int cost();
+
+    /**
+     * Verdict sur le mot, ou null si le fournisseur ne peut pas trancher (mot hors de sa couverture,
+     * réponse inexploitable) : le fournisseur suivant de la chaîne est alors interrogé.
+     * Une exception compte comme une panne : un refus obtenu ensuite n'est pas considéré comme fiable.
+     */
+    Boolean validate(String word, String category) throws Exception;
+}
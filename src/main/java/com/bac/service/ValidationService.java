@@ -1,20 +1,56 @@
 package com.bac.service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
 
 /**
  * Service de validation des mots
- * Utilise uniquement les APIs externes (pas de base de données locale)
+ * - Lexique embarqué pour les catégories à liste finie
+ * - Cache des mots déjà validés (mémoire puis table "words")
+ * - Fautes de frappe proches d'un mot du lexique ou déjà validé (validation.fuzzy.policy)
  * - APIs spécifiques par catégorie (pays, ville, prénom, etc.)
  * - API Gemini pour les autres catégories
+ * Les mots d'une même soumission sont validés en parallèle sur un pool borné
+ * (et regroupés en une requête Gemini pour les catégories sans API dédiée) ;
+ * ApiService limite en plus le nombre de requêtes simultanées par fournisseur.
  */
 public class ValidationService {
     
     private static ValidationService instance;
     private final ApiService apiService;
+    private final Lexicon lexicon;
+    private final ValidationCache cache;
+    private final ExecutorService executor;
     
     private ValidationService() {
         this.apiService = ApiService.getInstance();
+        this.lexicon = Lexicon.getInstance();
+        ConfigService config = ConfigService.getInstance();
+        this.cache = new ValidationCache(config.getValidationCacheSize(),
+            config.getNegativeCacheSize(), config.getBloomFalsePositiveRate());
+        this.executor = createExecutor(config.getValidationPoolSize());
+    }
+    
+    private static ExecutorService createExecutor(int size) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            size, size, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(1024), r -> {
+                Thread thread = new Thread(r, "word-validator");
+                thread.setDaemon(true);
+                return thread;
+            },
+            // File pleine : l'appelant valide lui-même plutôt que d'échouer
+            new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
     }
     
     public static synchronized ValidationService getInstance() {
@@ -28,6 +64,9 @@ public class ValidationService {
      * Résultat de validation avec détails
      */
     public static class ValidationResult {
+        // Source d'un mot qu'aucun fournisseur n'a pu juger (panne, débit épuisé) : ni validé ni refusé
+        public static final String UNVERIFIED = "UNVERIFIED";
+        
         private final boolean valid;
         private final String source;
         private final String message;
@@ -41,12 +80,44 @@ public class ValidationService {
         public boolean isValid() { return valid; }
         public String getSource() { return source; }
         public String getMessage() { return message; }
+        
+        /**
+         * false si le mot n'a pas pu être jugé : ne rapporte pas de points, et doit être
+         * revalidé plutôt que repris (brouillon validé pendant la saisie)
+         */
+        public boolean isVerified() { return !UNVERIFIED.equals(source); }
     }
     
     /**
      * Valide un mot pour une catégorie donnée via API
      */
     public ValidationResult validateWord(String word, String categoryName, Character requiredLetter) {
+        ValidationResult local = checkLocally(word, categoryName, requiredLetter);
+        if (local != null) {
+            return local;
+        }
+        
+        return validateRemotely(word.trim().toLowerCase(), categoryName);
+    }
+    
+    /**
+     * Validation via APIs externes
+     */
+    private ValidationResult validateRemotely(String cleanWord, String categoryName) {
+        try {
+            boolean isValid = apiService.validateWord(cleanWord, categoryName);
+            return recordVerdict(categoryName, cleanWord, isValid, apiService.isLastVerdictReliable());
+        } catch (Exception e) {
+            System.err.println("Erreur de validation: " + e.getMessage());
+            return new ValidationResult(false, "ERROR", "Erreur lors de la validation");
+        }
+    }
+    
+    /**
+     * Vérifications sans réseau : mot vide, lettre, longueur, puis cache.
+     * Renvoie null si le mot doit être validé par les APIs.
+     */
+    private ValidationResult checkLocally(String word, String categoryName, Character requiredLetter) {
         // Vérifier que le mot n'est pas vide
         if (word == null || word.trim().isEmpty()) {
             return new ValidationResult(false, "LOCAL", "Le mot est vide");
@@ -54,10 +125,9 @@ public class ValidationService {
         
         String cleanWord = word.trim().toLowerCase();
         
-        // Vérifier que le mot commence par la bonne lettre
+        // Vérifier que le mot commence par la bonne lettre (accents ignorés : "Éléphant" pour E)
         if (requiredLetter != null) {
-            char firstLetter = Character.toUpperCase(cleanWord.charAt(0));
-            if (firstLetter != Character.toUpperCase(requiredLetter)) {
+            if (!WordNormalizer.startsWith(cleanWord, requiredLetter)) {
                 return new ValidationResult(false, "LOCAL", 
                     "Le mot doit commencer par la lettre " + Character.toUpperCase(requiredLetter));
             }
@@ -68,35 +138,184 @@ public class ValidationService {
             return new ValidationResult(false, "LOCAL", "Le mot doit contenir au moins 2 caractères");
         }
         
-        // Validation via APIs externes
-        try {
-            boolean isValid = apiService.validateWord(cleanWord, categoryName);
-            
-            if (isValid) {
-                return new ValidationResult(true, "API", "Mot validé ✓");
-            } else {
-                return new ValidationResult(false, "API", "Mot non reconnu pour cette catégorie");
-            }
-        } catch (Exception e) {
-            System.err.println("Erreur de validation: " + e.getMessage());
-            return new ValidationResult(false, "ERROR", "Erreur lors de la validation");
+        // Mot du lexique embarqué
+        if (lexicon.contains(categoryName, cleanWord)) {
+            return new ValidationResult(true, "LEXICON", "Mot validé ✓");
+        }
+        
+        // Verdict déjà connu : mot validé (mémoire ou base) ou refusé récemment
+        Boolean known = cache.lookup(categoryName, cleanWord);
+        if (known != null) {
+            return known
+                ? new ValidationResult(true, "CACHE", "Mot validé ✓")
+                : new ValidationResult(false, "CACHE", "Mot non reconnu pour cette catégorie");
+        }
+        
+        // Faute de frappe sur un mot connu ("Marok" pour "Maroc")
+        ValidationResult near = checkNearMatch(categoryName, cleanWord);
+        if (near != null) {
+            return near;
+        }
+        
+        // Mode hors ligne : pas d'appel aux APIs
+        if (!ConfigService.getInstance().isApiEnabled()) {
+            return new ValidationResult(false, "LOCAL", "Mot inconnu (mode hors ligne)");
+        }
+        return null;
+    }
+    
+    /**
+     * Mot proche d'un mot du lexique ou de la table des mots validés, de même première lettre :
+     * accepté selon validation.fuzzy.policy (unique : seulement si aucun autre mot n'est aussi proche).
+     * Une faute est tolérée par tranche de letters.per.edit lettres après la première, et un mot
+     * déjà connu tel quel dans une autre catégorie est un autre mot, pas une faute ("melun" n'est pas
+     * "melon"). La faute n'entre pas dans le cache : seul le mot reconnu sert de référence.
+     */
+    private ValidationResult checkNearMatch(String categoryName, String cleanWord) {
+        ConfigService config = ConfigService.getInstance();
+        String policy = config.getFuzzyPolicy();
+        if ("off".equals(policy)) {
+            return null;
+        }
+        String key = WordNormalizer.key(cleanWord);
+        int maxDistance = Math.min(config.getFuzzyMaxDistance(), (key.length() - 1) / config.getFuzzyLettersPerEdit());
+        if (maxDistance <= 0 || lexicon.containsAnywhere(key) || cache.isKnownWord(key)) {
+            return null;
+        }
+        
+        FuzzyIndex.Nearest nearest = new FuzzyIndex.Nearest(maxDistance);
+        lexicon.nearest(categoryName, key, nearest);
+        cache.nearest(categoryName, key, nearest);
+        if (nearest.word() == null || (nearest.isAmbiguous() && !"nearest".equals(policy))) {
+            return null;
         }
+        return new ValidationResult(true, "FUZZY", "Mot validé ✓ (lu « " + nearest.word() + " »)");
+    }
+    
+    /**
+     * Verdict d'une API : les mots valides rejoignent le cache, les refus aussi
+     * s'ils sont fiables (aucun fournisseur en erreur). Un refus non fiable n'est pas un verdict :
+     * le mot est rendu non vérifié.
+     */
+    private ValidationResult recordVerdict(String categoryName, String cleanWord, boolean isValid, boolean reliable) {
+        if (isValid) {
+            cache.put(categoryName, cleanWord);
+            return new ValidationResult(true, "API", "Mot validé ✓");
+        }
+        if (!reliable) {
+            return new ValidationResult(false, ValidationResult.UNVERIFIED,
+                "Mot non vérifié : service de validation indisponible");
+        }
+        cache.putInvalid(categoryName, cleanWord);
+        return new ValidationResult(false, "API", "Mot non reconnu pour cette catégorie");
     }
     
     /**
      * Validation asynchrone
      */
     public CompletableFuture<ValidationResult> validateWordAsync(String word, String categoryName, Character requiredLetter) {
-        return CompletableFuture.supplyAsync(() -> validateWord(word, categoryName, requiredLetter));
+        return CompletableFuture.supplyAsync(() -> validateWord(word, categoryName, requiredLetter), executor);
+    }
+    
+    /**
+     * Validation spéculative d'un brouillon : ses requêtes passent après celles des validations
+     * qu'un joueur attend
+     */
+    public ValidationResult validateDraft(String word, String categoryName, Character requiredLetter) {
+        return apiService.inBackground(() -> validateWord(word, categoryName, requiredLetter));
+    }
+    
+    /**
+     * Validation spéculative asynchrone (saisie en cours) ; annuler le futur avant son démarrage
+     * évite la validation
+     */
+    public CompletableFuture<ValidationResult> validateDraftAsync(String word, String categoryName, Character requiredLetter) {
+        return CompletableFuture.supplyAsync(() -> validateDraft(word, categoryName, requiredLetter), executor);
+    }
+    
+    /**
+     * Valide toutes les réponses d'une soumission en parallèle (catégorie -> mot).
+     * Les mots des catégories sans API dédiée partent ensemble dans une seule requête Gemini.
+     * Rien n'est vérifié sur le thread appelant (cache, base, lexique : voir dispatchAll) :
+     * la méthode peut être appelée depuis le thread JavaFX.
+     * onResult est appelé pour chaque mot dès que son verdict est connu (depuis un thread
+     * de validation), le futur est complété quand tous les mots sont validés.
+     */
+    public CompletableFuture<Map<String, ValidationResult>> validateAll(Map<String, String> answers, Character requiredLetter,
+                                                                        BiConsumer<String, ValidationResult> onResult) {
+        Map<String, ValidationResult> results = new ConcurrentHashMap<>();
+        BiConsumer<String, ValidationResult> publish = (categoryName, result) -> {
+            results.put(categoryName, result);
+            if (onResult != null) {
+                onResult.accept(categoryName, result);
+            }
+        };
+        
+        return CompletableFuture.supplyAsync(() -> dispatchAll(answers, requiredLetter, publish), executor)
+            .thenCompose(pending -> pending)
+            .thenApply(done -> new HashMap<>(results));
+    }
+    
+    /**
+     * Vérifications locales de chaque mot, puis lancement des validations distantes ;
+     * le futur renvoyé est complété quand elles sont toutes terminées
+     */
+    private CompletableFuture<Void> dispatchAll(Map<String, String> answers, Character requiredLetter,
+                                                BiConsumer<String, ValidationResult> publish) {
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+        List<ApiService.WordQuery> geminiBatch = new ArrayList<>();
+        for (Map.Entry<String, String> entry : answers.entrySet()) {
+            String categoryName = entry.getKey();
+            String word = entry.getValue();
+            
+            ValidationResult local = checkLocally(word, categoryName, requiredLetter);
+            if (local != null) {
+                publish.accept(categoryName, local);
+                continue;
+            }
+            String cleanWord = word.trim().toLowerCase();
+            if (apiService.usesGeminiOnly(categoryName)) {
+                geminiBatch.add(new ApiService.WordQuery(cleanWord, categoryName));
+            } else {
+                pending.add(CompletableFuture.runAsync(
+                    () -> publish.accept(categoryName, validateRemotely(cleanWord, categoryName)), executor));
+            }
+        }
+        
+        if (geminiBatch.size() == 1) {
+            ApiService.WordQuery query = geminiBatch.get(0);
+            pending.add(CompletableFuture.runAsync(
+                () -> publish.accept(query.category(), validateRemotely(query.word(), query.category())), executor));
+        } else if (!geminiBatch.isEmpty()) {
+            pending.add(CompletableFuture.runAsync(() -> {
+                Map<ApiService.WordQuery, Boolean> verdicts = apiService.validateBatchWithGemini(geminiBatch);
+                for (ApiService.WordQuery query : geminiBatch) {
+                    Boolean verdict = verdicts.get(query);
+                    publish.accept(query.category(), verdict != null
+                        ? recordVerdict(query.category(), query.word(), verdict, true)
+                        : recordVerdict(query.category(), query.word(), false, false));
+                }
+            }, executor));
+        }
+        
+        return CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0]));
+    }
+    
+    public CompletableFuture<Map<String, ValidationResult>> validateAll(Map<String, String> answers, Character requiredLetter) {
+        return validateAll(answers, requiredLetter, null);
     }
     
     /**
      * Validation rapide sans vérification de lettre (pour tests)
      */
     public boolean quickValidate(String word, String categoryName) {
-        if (word == null || word.trim().isEmpty()) {
-            return false;
-        }
-        return apiService.validateWord(word.trim(), categoryName);
+        return validateWord(word, categoryName, null).isValid();
+    }
+    
+    /**
+     * Cache des mots validés (compteurs de succès et d'échecs)
+     */
+    public ValidationCache getCache() {
+        return cache;
     }
 }
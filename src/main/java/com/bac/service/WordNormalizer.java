@@ -0,0 +1,168 @@
+package com.bac.service;
+
+import java.text.Normalizer;
+
+/**
+ * Forme canonique des mots, utilisée pour toutes les clés (caches, lexique, déduplication) :
+ * minuscules sans accents (décomposition NFKD), ligatures développées (œ -> oe, æ -> ae),
+ * tirets et espaces réduits à une seule espace, apostrophes supprimées, et pluriel français
+ * retiré si validation.normalize.plurals est activé ("Éléphants " -> "elephant").
+ * Un mot déjà canonique est renvoyé tel quel, sans allocation.
+ */
+public final class WordNormalizer {
+
+    // Forme repliée des caractères Latin-1 et Latin étendu A, calculée une fois
+    private static final int TABLE_SIZE = 0x180;
+    private static final String[] FOLDED = new String[TABLE_SIZE];
+    private static final String SEPARATOR = " ";
+    private static final String DROPPED = "";
+
+    private static final boolean STRIP_PLURALS = ConfigService.getInstance().isPluralStrippingEnabled();
+
+    static {
+        for (char c = 0; c < TABLE_SIZE; c++) {
+            FOLDED[c] = foldChar(c);
+        }
+    }
+
+    private WordNormalizer() {
+    }
+
+    /**
+     * Clé canonique d'un mot (pluriel retiré selon la configuration)
+     */
+    public static String key(String word) {
+        return key(word, STRIP_PLURALS);
+    }
+
+    /**
+     * Clé canonique d'un mot, pluriel retiré ou non
+     */
+    public static String key(String word, boolean stripPlurals) {
+        if (isCanonical(word, stripPlurals)) {
+            return word;
+        }
+        StringBuilder out = new StringBuilder(word.length() + 4);
+        boolean pendingSeparator = false;
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            String folded = c < TABLE_SIZE ? FOLDED[c] : foldChar(c);
+            if (folded == SEPARATOR) {
+                pendingSeparator = out.length() > 0;
+                continue;
+            }
+            if (folded.isEmpty()) {
+                continue;
+            }
+            if (pendingSeparator) {
+                out.append(' ');
+                pendingSeparator = false;
+            }
+            out.append(folded);
+        }
+        if (stripPlurals) {
+            stripPlural(out);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Texte replié sans retrait du pluriel (noms de catégories notamment)
+     */
+    public static String fold(String text) {
+        return key(text, false);
+    }
+
+    /**
+     * Indique si deux saisies désignent le même mot
+     */
+    public static boolean sameWord(String first, String second) {
+        return key(first).equals(key(second));
+    }
+
+    /**
+     * Indique si le mot commence par la lettre, accents et casse ignorés ("Éléphant" commence par E)
+     */
+    public static boolean startsWith(String word, char letter) {
+        String folded = fold(word);
+        String initial = fold(String.valueOf(letter));
+        return !folded.isEmpty() && !initial.isEmpty() && folded.charAt(0) == initial.charAt(0);
+    }
+
+    /**
+     * Déjà canonique : lettres minuscules ASCII, chiffres et espaces simples intérieures
+     */
+    private static boolean isCanonical(String word, boolean stripPlurals) {
+        int length = word.length();
+        if (length == 0) {
+            return true;
+        }
+        char previous = ' ';
+        for (int i = 0; i < length; i++) {
+            char c = word.charAt(i);
+            if (c == ' ') {
+                if (previous == ' ') return false;
+            } else if ((c < 'a' || c > 'z') && (c < '0' || c > '9')) {
+                return false;
+            }
+            previous = c;
+        }
+        return previous != ' ' && (!stripPlurals || singularLength(word) == length);
+    }
+
+    private static void stripPlural(StringBuilder word) {
+        int length = word.length();
+        int singular = singularLength(word);
+        if (singular == length) return;
+        word.setLength(singular);
+        if (singular == length - 2) {
+            // chevaux -> cheval
+            word.append('l');
+        }
+    }
+
+    /**
+     * Longueur du mot sans sa marque de pluriel : s final (sauf après s, u, i, a, o, y : "souris",
+     * "cactus", "ananas", "pays"...), x après eau/eu/ou ("bateaux", "jeux", "choux"), aux -> al.
+     * Les mots de trois lettres ou moins sont laissés tels quels.
+     */
+    private static int singularLength(CharSequence word) {
+        int length = word.length();
+        if (length <= 3) return length;
+        char last = word.charAt(length - 1);
+        char previous = word.charAt(length - 2);
+        if (last == 's' && "suiayo ".indexOf(previous) < 0) {
+            return length - 1;
+        }
+        if (last == 'x' && previous == 'u') {
+            char before = word.charAt(length - 3);
+            if (before == 'a' && length > 4 && word.charAt(length - 4) != 'e') {
+                return length - 2;
+            }
+            return length - 1;
+        }
+        return length;
+    }
+
+    private static String foldChar(char c) {
+        if (Character.isWhitespace(c) || Character.isSpaceChar(c) || c == '-' || c == '_'
+                || (c >= '‐' && c <= '―')) {
+            return SEPARATOR;
+        }
+        switch (c) {
+            case '\'': case '`': case '‘': case '’': case 'ʼ':
+                return DROPPED;
+            case 'Œ': case 'œ':
+                return "oe";
+            case 'Æ': case 'æ':
+                return "ae";
+            case 'ß':
+                return "ss";
+            default:
+                break;
+        }
+        String folded = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFKD)
+                .replaceAll("\\p{M}", "").toLowerCase();
+        return folded.isBlank() ? DROPPED : folded;
+    }
+}
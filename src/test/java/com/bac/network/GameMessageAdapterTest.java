@@ -0,0 +1,177 @@
+package com.bac.network;
+
+import com.bac.network.GameMessage.AnswerDraft;
+import com.bac.network.GameMessage.ChatMessage;
+import com.bac.network.GameMessage.ErrorMessage;
+import com.bac.network.GameMessage.GameCreated;
+import com.bac.network.GameMessage.GameEnd;
+import com.bac.network.GameMessage.GameStart;
+import com.bac.network.GameMessage.JoinGame;
+import com.bac.network.GameMessage.LeaveGame;
+import com.bac.network.GameMessage.Ping;
+import com.bac.network.GameMessage.PlayerFinished;
+import com.bac.network.GameMessage.PlayerJoined;
+import com.bac.network.GameMessage.PlayerList;
+import com.bac.network.GameMessage.PlayerReady;
+import com.bac.network.GameMessage.Pong;
+import com.bac.network.GameMessage.Results;
+import com.bac.network.GameMessage.SubmitAnswers;
+import com.bac.network.GameMessage.TimerUpdate;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameMessageAdapterTest {
+
+    private static final List<String> CATEGORIES = List.of("Pays", "Ville", "Animal");
+
+    private static GameMessage roundTrip(GameMessage msg) {
+        return GameMessage.fromJson(msg.toJson());
+    }
+
+    @Test
+    void recordsRoundTrip() {
+        List<GameMessage> messages = List.of(
+            new JoinGame("alice", "ABC123", FrameCompressor.DEFLATE, GameMessage.INDEXED, 3),
+            new JoinGame("alice", null, null),
+            new LeaveGame("alice"),
+            new SubmitAnswers(Arrays.asList("France", null, "Âne"), null, 4),
+            new PlayerReady("alice", "ABC123", 5),
+            new ChatMessage("alice", "Salut \"à tous\"\n"),
+            new AnswerDraft(2, "Éléphant"),
+            new GameCreated("ABC123", 'B', CATEGORIES, FrameCompressor.DEFLATE, GameMessage.INDEXED, 6),
+            new PlayerJoined("ABC123", 'B', CATEGORIES, "bob", null, GameMessage.INDEXED, 0),
+            new GameMessage.PlayerLeft("bob"),
+            new GameStart("ABC123", 'B', CATEGORIES, 120, 7),
+            new TimerUpdate(42),
+            new ErrorMessage("La partie a déjà commencé", 8),
+            new PlayerList(Arrays.asList("alice", null, "carol")),
+            new PlayerFinished(2, 9),
+            new PlayerFinished("bob"),
+            new Ping(123456789L, 35),
+            new Pong(123456789L, 987654321L)
+        );
+        for (GameMessage msg : messages) {
+            assertEquals(msg, roundTrip(msg), msg.toJson());
+        }
+    }
+
+    @Test
+    void constantFramesDecodeToSingletons() {
+        assertSame(GameEnd.INSTANCE, roundTrip(GameEnd.INSTANCE));
+        assertSame(Ping.INSTANCE, roundTrip(Ping.INSTANCE));
+        char[] buffer = new char[64];
+        String frame = Ping.INSTANCE.toJson();
+        frame.getChars(0, frame.length(), buffer, 0);
+        assertSame(Ping.INSTANCE, GameMessageAdapter.INSTANCE.decode(buffer, frame.length()));
+    }
+
+    @Test
+    void cachedFramesDependOnTheWholeMessage() {
+        assertSame(new TimerUpdate(30).toJson(), new TimerUpdate(30).toJson());
+        assertSame(new PlayerFinished(1).toJson(), new PlayerFinished(1).toJson());
+        // La copie corrélée et l'ancien format ne passent pas par le cache des identifiants
+        assertEquals(new PlayerFinished(1, 7), roundTrip(new PlayerFinished(1, 7)));
+        assertEquals(new PlayerFinished(1), roundTrip(new PlayerFinished(1)));
+        assertEquals(new PlayerFinished("bob"), roundTrip(new PlayerFinished("bob")));
+    }
+
+    @Test
+    void indexedResultsRoundTrip() {
+        Results results = (Results) roundTrip(new Results(new int[] {12, -1, 7}, 0));
+        assertArrayEquals(new int[] {12, -1, 7}, results.scores());
+        assertEquals(0, results.winnerId());
+        assertNull(results.namedScores());
+        assertNull(results.winner());
+    }
+
+    @Test
+    void legacyResultsAreWrittenByName() {
+        Map<String, Integer> scores = new LinkedHashMap<>();
+        scores.put("alice", 12);
+        scores.put("bob", 7);
+        String json = new Results(scores, "alice").toJson();
+        assertTrue(json.contains("\"scores\":{\"alice\":12,\"bob\":7}"), json);
+        assertTrue(json.contains("\"message\":\"alice\""), json);
+        assertFalse(json.contains("\"winner\""), json);
+
+        Results results = (Results) GameMessage.fromJson(json);
+        assertNull(results.scores());
+        assertEquals(scores, results.namedScores());
+        assertEquals("alice", results.winner());
+    }
+
+    @Test
+    void legacyPlayerFinishedIsWrittenByName() {
+        String json = new PlayerFinished("bob").toJson();
+        assertTrue(json.contains("\"senderPseudo\":\"bob\""), json);
+        assertFalse(json.contains("\"playerId\""), json);
+    }
+
+    // Trames produites par l'ancien GameMessage (Gson, un seul objet avec tous les champs)
+
+    @Test
+    void decodesLegacyResults() {
+        Results results = (Results) GameMessage.fromJson("{\"type\":\"RESULTS\",\"answers\":{},\"validations\":{},"
+            + "\"scores\":{\"alice\":12,\"bob\":7},\"message\":\"alice\",\"timeRemaining\":0,\"score\":0,"
+            + "\"success\":false}");
+        assertNull(results.scores());
+        assertEquals(Map.of("alice", 12, "bob", 7), results.namedScores());
+        assertEquals("alice", results.winner());
+    }
+
+    @Test
+    void decodesLegacyPlayerFinished() {
+        PlayerFinished finished = (PlayerFinished) GameMessage.fromJson("{\"type\":\"PLAYER_FINISHED\","
+            + "\"senderPseudo\":\"bob\",\"answers\":{},\"validations\":{},\"scores\":{},\"timeRemaining\":0,"
+            + "\"score\":0,\"success\":false}");
+        assertEquals(-1, finished.playerId());
+        assertEquals("bob", finished.senderPseudo());
+    }
+
+    @Test
+    void decodesLegacyJoinAndAnswers() {
+        JoinGame join = (JoinGame) GameMessage.fromJson("{\"type\":\"JOIN_GAME\",\"senderPseudo\":\"carol\","
+            + "\"answers\":{},\"validations\":{},\"scores\":{},\"timeRemaining\":0,\"score\":0,\"success\":false}");
+        assertEquals(new JoinGame("carol", null, null), join);
+        assertNull(join.format());
+
+        SubmitAnswers answers = (SubmitAnswers) GameMessage.fromJson("{\"type\":\"SUBMIT_ANSWERS\","
+            + "\"senderPseudo\":\"carol\",\"answers\":{\"Pays\":\"Brésil\",\"Ville\":\"Bordeaux\"},"
+            + "\"validations\":{},\"scores\":{},\"timeRemaining\":0,\"score\":0,\"success\":false}");
+        assertNull(answers.answers());
+        assertEquals(Map.of("Pays", "Brésil", "Ville", "Bordeaux"), answers.namedAnswers());
+
+        GameMessage.PlayerList players = (PlayerList) GameMessage.fromJson("{\"type\":\"PLAYER_LIST\","
+            + "\"answers\":{},\"validations\":{},\"scores\":{},\"players\":[\"alice\",\"carol\"],"
+            + "\"timeRemaining\":0,\"score\":0,\"success\":false}");
+        assertEquals(List.of("alice", "carol"), players.names());
+    }
+
+    @Test
+    void compressedFramesRoundTrip() {
+        List<String> answers = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            answers.add("Réponse " + i);
+        }
+        String json = new SubmitAnswers(answers).toJson();
+        String encoded = FrameCompressor.encode(json);
+        assertTrue(encoded.length() < json.length());
+        assertEquals(json, FrameCompressor.decode(encoded));
+        assertEquals(new SubmitAnswers(answers), GameMessage.fromJson(FrameCompressor.decode(encoded)));
+        // Une trame courte passe en clair
+        String ping = Ping.INSTANCE.toJson();
+        assertEquals(ping, FrameCompressor.encode(ping));
+    }
+}
@@ -0,0 +1,58 @@
+package com.bac.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+
+    @Test
+    void noFalseNegatives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("mot" + i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("mot" + i), "mot" + i);
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTargetAtCapacity() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("mot" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("absent" + i)) falsePositives++;
+        }
+        assertTrue(falsePositives < 2_000, "faux positifs : " + falsePositives);
+        assertTrue(filter.expectedFalsePositiveRate() < 0.02);
+    }
+
+    @Test
+    void countsInsertionsAgainstCapacity() {
+        BloomFilter filter = new BloomFilter(100, 0.01);
+        assertEquals(100, filter.capacity());
+        assertEquals(0, filter.insertions());
+        filter.put("chat");
+        filter.put("chat");
+        assertEquals(1, filter.insertions());
+        for (int i = 0; i < 300; i++) {
+            filter.put("mot" + i);
+        }
+        // Au-delà de la capacité le filtre se dégrade : c'est ce qui déclenche sa reconstruction
+        assertTrue(filter.insertions() > filter.capacity());
+        assertTrue(filter.expectedFalsePositiveRate() > 0.1);
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(0, 0.01);
+        assertEquals(1, filter.capacity());
+        assertEquals(0.0, filter.expectedFalsePositiveRate());
+        assertTrue(!filter.mightContain("chat"));
+    }
+}
@@ -0,0 +1,57 @@
+package com.bac.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FrequencySketchTest {
+
+    @Test
+    void countsAccessesUpToCap() {
+        FrequencySketch sketch = new FrequencySketch(1000);
+        assertEquals(0, sketch.frequency("chat"));
+        for (int i = 0; i < 5; i++) {
+            sketch.increment("chat");
+        }
+        assertEquals(5, sketch.frequency("chat"));
+        for (int i = 0; i < 100; i++) {
+            sketch.increment("chat");
+        }
+        assertEquals(FrequencySketch.MAX_COUNT, sketch.frequency("chat"));
+    }
+
+    @Test
+    void neverUnderestimates() {
+        FrequencySketch sketch = new FrequencySketch(64);
+        for (int i = 0; i < 200; i++) {
+            for (int j = 0; j <= i % 5; j++) {
+                sketch.increment("mot" + i);
+            }
+        }
+        // Moins d'ajouts que le seuil de vieillissement (10 x 64) : pas de division
+        for (int i = 0; i < 200; i++) {
+            assertTrue(sketch.frequency("mot" + i) >= i % 5 + 1, "mot" + i);
+        }
+    }
+
+    @Test
+    void agingHalvesCounters() {
+        FrequencySketch sketch = new FrequencySketch(16);
+        for (int i = 0; i < FrequencySketch.MAX_COUNT; i++) {
+            sketch.increment("chat");
+        }
+        int before = sketch.frequency("chat");
+        boolean aged = false;
+        for (int i = 0; i < 1000 && !aged; i++) {
+            sketch.increment("mot" + i);
+            int after = sketch.frequency("chat");
+            if (after < before) {
+                assertTrue(after <= (before + 1) / 2, before + " -> " + after);
+                aged = true;
+            }
+            before = after;
+        }
+        assertTrue(aged, "les compteurs n'ont jamais été divisés");
+    }
+}
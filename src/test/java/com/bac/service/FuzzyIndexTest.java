@@ -0,0 +1,128 @@
+package com.bac.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FuzzyIndexTest {
+
+    @Test
+    void transpositionCountsAsOneTypo() {
+        assertEquals(1, FuzzyIndex.typoDistance("kanguorou", "kangourou"));
+        assertEquals(2, FuzzyIndex.distance("kanguorou", "kangourou"));
+        assertEquals(1, FuzzyIndex.typoDistance("ab", "ba"));
+        assertEquals(2, FuzzyIndex.typoDistance("abcd", "badc"));
+    }
+
+    @Test
+    void typoDistanceMatchesLevenshteinWithoutTransposition() {
+        assertEquals(0, FuzzyIndex.typoDistance("chat", "chat"));
+        assertEquals(3, FuzzyIndex.typoDistance("", "abc"));
+        assertEquals(3, FuzzyIndex.typoDistance("abc", ""));
+        assertEquals(1, FuzzyIndex.typoDistance("chat", "chats"));
+        assertEquals(1, FuzzyIndex.typoDistance("chat", "char"));
+        assertEquals(3, FuzzyIndex.distance("kitten", "sitting"));
+        assertEquals(3, FuzzyIndex.typoDistance("kitten", "sitting"));
+    }
+
+    @Test
+    void typoDistanceIsSymmetric() {
+        String[] words = {"poire", "poivre", "pomme", "prune", "orpime", "epmmo", ""};
+        for (String a : words) {
+            for (String b : words) {
+                assertEquals(FuzzyIndex.typoDistance(a, b), FuzzyIndex.typoDistance(b, a), a + " / " + b);
+                assertTrue(FuzzyIndex.typoDistance(a, b) <= FuzzyIndex.distance(a, b), a + " / " + b);
+                assertTrue(2 * FuzzyIndex.typoDistance(a, b) >= FuzzyIndex.distance(a, b), a + " / " + b);
+            }
+        }
+    }
+
+    @Test
+    void nearestFindsClosestWordOfSameCategoryAndInitial() {
+        FuzzyIndex index = new FuzzyIndex();
+        for (String word : new String[] {"kangourou", "koala", "kiwi", "castor", "chameau"}) {
+            index.add("animal", word);
+        }
+        index.add("fruit", "kaki");
+
+        FuzzyIndex.Nearest nearest = new FuzzyIndex.Nearest(2);
+        index.nearest("animal", "kanguorou", nearest);
+        assertEquals("kangourou", nearest.word());
+        assertEquals(1, nearest.distance());
+        assertFalse(nearest.isAmbiguous());
+
+        // Autre première lettre : pas de candidat
+        FuzzyIndex.Nearest other = new FuzzyIndex.Nearest(2);
+        index.nearest("animal", "oala", other);
+        assertNull(other.word());
+
+        // Autre catégorie
+        FuzzyIndex.Nearest fruit = new FuzzyIndex.Nearest(2);
+        index.nearest("fruit", "kako", fruit);
+        assertEquals("kaki", fruit.word());
+    }
+
+    @Test
+    void nearestRespectsMaxDistance() {
+        FuzzyIndex index = new FuzzyIndex();
+        index.add("fruit", "pamplemousse");
+        FuzzyIndex.Nearest nearest = new FuzzyIndex.Nearest(1);
+        index.nearest("fruit", "pamplemuse", nearest);
+        assertNull(nearest.word());
+    }
+
+    @Test
+    void tieBetweenTwoWordsIsAmbiguous() {
+        FuzzyIndex index = new FuzzyIndex();
+        index.add("animal", "chat");
+        index.add("animal", "chas");
+        FuzzyIndex.Nearest nearest = new FuzzyIndex.Nearest(2);
+        index.nearest("animal", "chaq", nearest);
+        assertEquals(1, nearest.distance());
+        assertTrue(nearest.isAmbiguous());
+
+        // Le même mot proposé par deux sources n'est pas une égalité
+        FuzzyIndex.Nearest twice = new FuzzyIndex.Nearest(2);
+        twice.offer("chat", 1);
+        twice.offer("chat", 1);
+        assertFalse(twice.isAmbiguous());
+
+        // Un mot plus proche lève l'ambiguïté
+        twice.offer("chas", 1);
+        twice.offer("chaq", 0);
+        assertEquals("chaq", twice.word());
+        assertFalse(twice.isAmbiguous());
+    }
+
+    @Test
+    void forEachVisitsOnlyTheCategory() {
+        FuzzyIndex index = new FuzzyIndex();
+        index.add("pays", "france");
+        index.add("pays", "fidji");
+        index.add("pays", "maroc");
+        index.add("pays", "france");
+        index.add("paysage", "foret");
+        index.add("ville", "fes");
+
+        Set<String> words = new HashSet<>();
+        index.forEach("pays", words::add);
+        assertEquals(Set.of("france", "fidji", "maroc"), words);
+        assertEquals(5, index.size());
+    }
+
+    @Test
+    void containsIgnoresCategory() {
+        FuzzyIndex index = new FuzzyIndex();
+        index.add("ville", "paris");
+        index.add("ville", "");
+        assertTrue(index.contains("paris"));
+        assertFalse(index.contains("pari"));
+        assertFalse(index.contains(""));
+    }
+}
@@ -0,0 +1,95 @@
+package com.bac.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LexiconTrieTest {
+
+    private static LexiconTrie trie(List<String> words) {
+        return new LexiconTrie(ByteBuffer.wrap(LexiconTrie.compile(words, 42)));
+    }
+
+    @Test
+    void containsExactWordsOnly() {
+        LexiconTrie trie = trie(List.of("chat", "chats", "chien", "cheval", "chat"));
+        assertEquals(4, trie.size());
+        assertTrue(trie.contains("chat"));
+        assertTrue(trie.contains("chats"));
+        assertTrue(trie.contains("cheval"));
+        assertFalse(trie.contains("cha"));
+        assertFalse(trie.contains("chevaux"));
+        assertFalse(trie.contains(""));
+        assertEquals(42, LexiconTrie.checksum(ByteBuffer.wrap(LexiconTrie.compile(List.of("a"), 42))));
+    }
+
+    @Test
+    void rejectsForeignOrOutdatedFile() {
+        byte[] compiled = LexiconTrie.compile(List.of("chat"), 0);
+        ByteBuffer outdated = ByteBuffer.wrap(compiled.clone());
+        outdated.putInt(4, LexiconTrie.VERSION - 1);
+        assertThrows(IllegalArgumentException.class, () -> new LexiconTrie(outdated));
+
+        ByteBuffer foreign = ByteBuffer.wrap(compiled.clone());
+        foreign.putInt(0, 0);
+        assertThrows(IllegalArgumentException.class, () -> new LexiconTrie(foreign));
+    }
+
+    @Test
+    void nearestToleratesTransposition() {
+        LexiconTrie trie = trie(List.of("chien", "chine", "kangourou", "koala"));
+        FuzzyIndex.Nearest nearest = new FuzzyIndex.Nearest(1);
+        trie.nearest("kanguorou", nearest);
+        assertEquals("kangourou", nearest.word());
+        assertEquals(1, nearest.distance());
+
+        FuzzyIndex.Nearest none = new FuzzyIndex.Nearest(2);
+        trie.nearest("oala", none);
+        assertNull(none.word());
+    }
+
+    @Test
+    void nearestAgreesWithTypoDistance() {
+        Random random = new Random(7);
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            words.add(randomWord(random));
+        }
+        LexiconTrie trie = trie(words);
+
+        for (int i = 0; i < 300; i++) {
+            String query = randomWord(random);
+            int expected = Integer.MAX_VALUE;
+            for (String word : words) {
+                if (word.charAt(0) == query.charAt(0)) {
+                    expected = Math.min(expected, FuzzyIndex.typoDistance(query, word));
+                }
+            }
+            FuzzyIndex.Nearest nearest = new FuzzyIndex.Nearest(2);
+            trie.nearest(query, nearest);
+            if (expected > 2) {
+                assertNull(nearest.word(), query);
+            } else {
+                assertEquals(expected, nearest.distance(), query);
+                assertEquals(expected, FuzzyIndex.typoDistance(query, nearest.word()), query);
+            }
+        }
+    }
+
+    private static String randomWord(Random random) {
+        char[] word = new char[3 + random.nextInt(5)];
+        for (int i = 0; i < word.length; i++) {
+            word[i] = (char) ('a' + random.nextInt(6));
+        }
+        return new String(word);
+    }
+}
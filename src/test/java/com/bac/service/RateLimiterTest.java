@@ -0,0 +1,127 @@
+package com.bac.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTest {
+
+    // Débit assez lent pour qu'aucun jeton ne revienne pendant un test
+    private static final double SLOW = 0.001;
+
+    @Test
+    void burstThenEmpty() throws InterruptedException {
+        RateLimiter limiter = new RateLimiter(SLOW, 3);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.acquire(RateLimiter.INTERACTIVE, 0));
+        }
+        assertFalse(limiter.acquire(RateLimiter.INTERACTIVE, 0));
+        assertFalse(limiter.acquire(RateLimiter.BACKGROUND, 50));
+    }
+
+    @Test
+    void refillsAtConfiguredRate() throws InterruptedException {
+        RateLimiter limiter = new RateLimiter(20, 1);
+        assertTrue(limiter.acquire(RateLimiter.INTERACTIVE, 0));
+        long start = System.nanoTime();
+        assertTrue(limiter.acquire(RateLimiter.INTERACTIVE, 1000));
+        long waitedMillis = (System.nanoTime() - start) / 1_000_000;
+        assertTrue(waitedMillis >= 30, "attente " + waitedMillis + " ms");
+    }
+
+    @Test
+    void releaseGivesTokenBack() throws InterruptedException {
+        RateLimiter limiter = new RateLimiter(SLOW, 1);
+        assertTrue(limiter.acquire(RateLimiter.INTERACTIVE, 0));
+        assertFalse(limiter.acquire(RateLimiter.INTERACTIVE, 0));
+        // Requête refusée par la cloison : le jeton revient au seau
+        limiter.release();
+        assertTrue(limiter.acquire(RateLimiter.INTERACTIVE, 0));
+    }
+
+    @Test
+    void releaseNeverExceedsBurst() throws InterruptedException {
+        RateLimiter limiter = new RateLimiter(SLOW, 2);
+        limiter.release();
+        limiter.release();
+        assertTrue(limiter.acquire(RateLimiter.INTERACTIVE, 0));
+        assertTrue(limiter.acquire(RateLimiter.INTERACTIVE, 0));
+        assertFalse(limiter.acquire(RateLimiter.INTERACTIVE, 0));
+    }
+
+    @Test
+    void unlimitedRateStillHonoursPause() throws InterruptedException {
+        RateLimiter limiter = new RateLimiter(0, 1);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.acquire(RateLimiter.BACKGROUND, 0));
+        }
+        limiter.pauseFor(200);
+        assertFalse(limiter.acquire(RateLimiter.INTERACTIVE, 0));
+        assertFalse(limiter.tryAcquireSpare());
+        long start = System.nanoTime();
+        assertTrue(limiter.acquire(RateLimiter.INTERACTIVE, 2000));
+        long waitedMillis = (System.nanoTime() - start) / 1_000_000;
+        assertTrue(waitedMillis >= 150, "attente " + waitedMillis + " ms");
+    }
+
+    @Test
+    void spareTokensKeepHalfTheBurst() throws InterruptedException {
+        RateLimiter limiter = new RateLimiter(SLOW, 4);
+        assertTrue(limiter.tryAcquireSpare());
+        assertTrue(limiter.tryAcquireSpare());
+        assertFalse(limiter.tryAcquireSpare());
+        // La moitié de la rafale reste aux validations attendues
+        assertTrue(limiter.acquire(RateLimiter.INTERACTIVE, 0));
+        assertTrue(limiter.acquire(RateLimiter.BACKGROUND, 0));
+        assertFalse(limiter.acquire(RateLimiter.INTERACTIVE, 0));
+    }
+
+    @Test
+    void interactiveGoesBeforeBackgroundThenFifo() throws InterruptedException {
+        RateLimiter limiter = new RateLimiter(SLOW, 1);
+        assertTrue(limiter.acquire(RateLimiter.INTERACTIVE, 0));
+        ConcurrentLinkedQueue<String> order = new ConcurrentLinkedQueue<>();
+
+        Thread first = start(limiter, RateLimiter.BACKGROUND, "fond 1", order);
+        awaitWaiting(first);
+        Thread second = start(limiter, RateLimiter.BACKGROUND, "fond 2", order);
+        awaitWaiting(second);
+        Thread interactive = start(limiter, RateLimiter.INTERACTIVE, "interactif", order);
+        awaitWaiting(interactive);
+
+        for (Thread next : List.of(interactive, first, second)) {
+            limiter.release();
+            next.join(2000);
+            assertFalse(next.isAlive(), next.getName());
+        }
+        assertEquals(List.of("interactif", "fond 1", "fond 2"), List.copyOf(order));
+    }
+
+    private static Thread start(RateLimiter limiter, int priority, String name, ConcurrentLinkedQueue<String> order) {
+        Thread thread = new Thread(() -> {
+            try {
+                if (limiter.acquire(priority, 5000)) {
+                    order.add(name);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, name);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private static void awaitWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (thread.getState() != Thread.State.TIMED_WAITING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(Thread.State.TIMED_WAITING, thread.getState(), thread.getName());
+    }
+}
@@ -0,0 +1,66 @@
+package com.bac.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TinyLfuSetTest {
+
+    @Test
+    void staysWithinCapacity() {
+        TinyLfuSet set = new TinyLfuSet(100);
+        for (int i = 0; i < 1000; i++) {
+            set.contains("mot" + i);
+            set.add("mot" + i);
+        }
+        assertEquals(100, set.size());
+    }
+
+    @Test
+    void frequentKeysSurviveScan() {
+        TinyLfuSet set = new TinyLfuSet(1000);
+        for (int i = 0; i < 100; i++) {
+            set.add("frequent" + i);
+            for (int j = 0; j < 8; j++) {
+                set.contains("frequent" + i);
+            }
+        }
+        // Mots demandés une seule fois, deux fois plus nombreux que la capacité : une LRU chasserait les mots fréquents
+        for (int i = 0; i < 2000; i++) {
+            set.contains("rare" + i);
+            set.add("rare" + i);
+        }
+        for (int i = 0; i < 100; i++) {
+            assertTrue(set.contains("frequent" + i), "frequent" + i);
+        }
+        assertEquals(1000, set.size());
+    }
+
+    @Test
+    void admitsNewcomerMoreFrequentThanVictim() {
+        TinyLfuSet set = new TinyLfuSet(100);
+        for (int i = 0; i < 100; i++) {
+            set.contains("rare" + i);
+            set.add("rare" + i);
+        }
+        for (int i = 0; i < 5; i++) {
+            assertFalse(set.contains("frequent"));
+        }
+        set.add("frequent");
+        // Le mot sort de la fenêtre et remplace le plus ancien du segment principal
+        set.add("suivant");
+        assertTrue(set.contains("frequent"));
+        assertFalse(set.contains("rare0"));
+    }
+
+    @Test
+    void addIsIdempotent() {
+        TinyLfuSet set = new TinyLfuSet(10);
+        set.add("chat");
+        set.add("chat");
+        assertEquals(1, set.size());
+        assertTrue(set.contains("chat"));
+    }
+}
@@ -0,0 +1,81 @@
+package com.bac.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WordNormalizerTest {
+
+    @Test
+    void foldsCaseAccentsLigaturesAndSeparators() {
+        assertEquals("elephant", WordNormalizer.key("  Éléphants ", true));
+        assertEquals("coeur", WordNormalizer.key("Cœur", true));
+        assertEquals("saint etienne", WordNormalizer.key("Saint--Étienne", true));
+        assertEquals("saint etienne", WordNormalizer.key("saint_étienne", true));
+        assertEquals("aujourdhui", WordNormalizer.key("aujourd'hui", true));
+    }
+
+    @Test
+    void canonicalWordIsReturnedAsIs() {
+        String word = "cheval";
+        assertSame(word, WordNormalizer.key(word, true));
+        // Pluriel non retiré : "chevaux" est déjà canonique
+        String plural = "chevaux";
+        assertSame(plural, WordNormalizer.key(plural, false));
+    }
+
+    @Test
+    void stripsFinalS() {
+        assertEquals("chat", WordNormalizer.key("chats", true));
+        assertEquals("maison", WordNormalizer.key("Maisons", true));
+    }
+
+    @Test
+    void keepsFinalSAfterSUIAYO() {
+        for (String word : new String[] {"souris", "cactus", "ananas", "pays", "tapis", "repos", "stress"}) {
+            assertEquals(word, WordNormalizer.key(word, true), word);
+        }
+    }
+
+    @Test
+    void auxBecomesAl() {
+        assertEquals("cheval", WordNormalizer.key("chevaux", true));
+        assertEquals("journal", WordNormalizer.key("journaux", true));
+        assertEquals("animal", WordNormalizer.key("Animaux", true));
+    }
+
+    @Test
+    void eauEuOuOnlyDropTheX() {
+        assertEquals("bateau", WordNormalizer.key("bateaux", true));
+        assertEquals("chateau", WordNormalizer.key("Châteaux", true));
+        assertEquals("jeu", WordNormalizer.key("jeux", true));
+        assertEquals("cheveu", WordNormalizer.key("cheveux", true));
+        assertEquals("chou", WordNormalizer.key("choux", true));
+        assertEquals("bijou", WordNormalizer.key("bijoux", true));
+        // "eaux" : quatre lettres, la règle aux -> al ne s'applique pas
+        assertEquals("eau", WordNormalizer.key("eaux", true));
+    }
+
+    @Test
+    void shortWordsAreLeftAlone() {
+        assertEquals("bus", WordNormalizer.key("bus", true));
+        assertEquals("os", WordNormalizer.key("os", true));
+    }
+
+    @Test
+    void foldNeverStripsPlurals() {
+        assertEquals("villes", WordNormalizer.fold("Villes"));
+        assertEquals("metiers", WordNormalizer.fold("Métiers"));
+    }
+
+    @Test
+    void startsWithIgnoresAccentsAndCase() {
+        assertTrue(WordNormalizer.startsWith("Éléphant", 'E'));
+        assertTrue(WordNormalizer.startsWith("œuf", 'O'));
+        assertFalse(WordNormalizer.startsWith("Avion", 'E'));
+        assertFalse(WordNormalizer.startsWith("", 'E'));
+    }
+}